@@ -0,0 +1,37 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import com.codewithzea.projecttrackingsystem.dto.AuditLogDTO;
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * AuditLog to DTO conversion over a page or a full result set, as AuditLogService does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditLogMappingBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private List<AuditLog> logs;
+
+    @Setup
+    public void setUp() {
+        logs = Fixtures.auditLogs(size);
+    }
+
+    @Benchmark
+    public List<AuditLogDTO> toAuditLogDTOs() {
+        return logs.stream().map(MapperUtil::toAuditLogDTO).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import com.codewithzea.projecttrackingsystem.config.RedisConfig;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.model.Task;
+import com.codewithzea.projecttrackingsystem.service.AuditPayloadCodec;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit payload construction: the original full-entity writeValueAsString(saved) calls
+ * next to the DTO snapshots and field diffs AuditPayloadCodec builds today.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditPayloadBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Project project;
+    private Task task;
+    private Developer developer;
+    private AuditPayloadCodec codec;
+    private TaskDTO taskBefore;
+    private TaskDTO taskAfter;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new RedisConfig().objectMapper();
+        project = Fixtures.project();
+        task = Fixtures.task(project, 3);
+        developer = Fixtures.developer(7);
+        codec = new AuditPayloadCodec(objectMapper, AuditPayloadCodec.Format.JSON, 1024);
+        taskBefore = MapperUtil.toTaskDTO(task);
+        taskAfter = MapperUtil.toTaskDTO(task);
+        taskAfter.setStatus("DONE");
+    }
+
+    @Benchmark
+    public String projectPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(project);
+    }
+
+    @Benchmark
+    public String taskPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(task);
+    }
+
+    @Benchmark
+    public String developerPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(developer);
+    }
+
+    @Benchmark
+    public String taskDtoSnapshot() throws JsonProcessingException {
+        return codec.snapshot(taskBefore);
+    }
+
+    @Benchmark
+    public String taskDiff() throws JsonProcessingException {
+        return codec.diff(taskBefore, taskAfter);
+    }
+}
@@ -0,0 +1,74 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.model.Task;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Entities shaped like what the services load and save
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Project project() {
+        return Project.builder()
+                .id(42L)
+                .name("Platform migration")
+                .description("Move the tracker onto the shared platform cluster and retire the old VMs.")
+                .deadline(LocalDate.of(2026, 12, 31))
+                .status("ACTIVE")
+                .tasks(new ArrayList<>())
+                .build();
+    }
+
+    static Developer developer(long id) {
+        return Developer.builder()
+                .id(id)
+                .name("Developer " + id)
+                .email("dev" + id + "@example.com")
+                .skills(new HashSet<>(Set.of("java", "spring", "postgres")))
+                .assignedTasks(new HashSet<>())
+                .build();
+    }
+
+    static Task task(Project project, int developers) {
+        Set<Developer> assigned = new HashSet<>();
+        for (long i = 1; i <= developers; i++) {
+            assigned.add(developer(i));
+        }
+        return Task.builder()
+                .id(1001L)
+                .title("Cut over read traffic")
+                .description("Switch read-only endpoints to the new replica set and watch p99.")
+                .status("IN_PROGRESS")
+                .dueDate(LocalDate.of(2026, 11, 15))
+                .project(project)
+                .assignedDevelopers(assigned)
+                .build();
+    }
+
+    static List<AuditLog> auditLogs(int size) {
+        List<AuditLog> logs = new ArrayList<>(size);
+        Instant now = Instant.now();
+        for (int i = 0; i < size; i++) {
+            logs.add(AuditLog.builder()
+                    .id(Integer.toHexString(i))
+                    .actionType(i % 3 == 0 ? "CREATE" : "UPDATE")
+                    .entityType("Task")
+                    .entityId(Integer.toString(i))
+                    .timestamp(now.minusSeconds(i))
+                    .actorName("SYSTEM")
+                    .payload("{\"id\":" + i + ",\"title\":\"Task " + i + "\",\"status\":\"PENDING\"}")
+                    .build());
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,53 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.model.Task;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion done on every read path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"0", "3", "20"})
+    int assignedDevelopers;
+
+    private Project project;
+    private Task task;
+    private Developer developer;
+
+    @Setup
+    public void setUp() {
+        project = Fixtures.project();
+        task = Fixtures.task(project, assignedDevelopers);
+        developer = Fixtures.developer(7);
+    }
+
+    @Benchmark
+    public TaskDTO toTaskDTO() {
+        return MapperUtil.toTaskDTO(task);
+    }
+
+    @Benchmark
+    public ProjectDTO toProjectDTO() {
+        return MapperUtil.toProjectDTO(project);
+    }
+
+    @Benchmark
+    public DeveloperDTO toDeveloperDTO() {
+        return MapperUtil.toDeveloperDTO(developer);
+    }
+}
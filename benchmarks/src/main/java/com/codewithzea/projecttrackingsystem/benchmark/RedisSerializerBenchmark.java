@@ -0,0 +1,59 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import com.codewithzea.projecttrackingsystem.config.RedisConfig;
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cache value serializer RedisConfig installs for the projects, tasks and developers caches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private ProjectDTO project;
+    private TaskDTO task;
+    private byte[] projectBytes;
+    private byte[] taskBytes;
+
+    @Setup
+    public void setUp() {
+        serializer = RedisConfig.cacheValueSerializer(new RedisConfig().objectMapper());
+        Project entity = Fixtures.project();
+        project = MapperUtil.toProjectDTO(entity);
+        task = MapperUtil.toTaskDTO(Fixtures.task(entity, 3));
+        projectBytes = serializer.serialize(project);
+        taskBytes = serializer.serialize(task);
+    }
+
+    @Benchmark
+    public byte[] serializeProject() {
+        return serializer.serialize(project);
+    }
+
+    @Benchmark
+    public Object deserializeProject() {
+        return serializer.deserialize(projectBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() {
+        return serializer.serialize(task);
+    }
+
+    @Benchmark
+    public Object deserializeTask() {
+        return serializer.deserialize(taskBytes);
+    }
+}
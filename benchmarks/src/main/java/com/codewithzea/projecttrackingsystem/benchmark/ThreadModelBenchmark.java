@@ -0,0 +1,80 @@
+package com.codewithzea.projecttrackingsystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request handling on Tomcat's default pool (200 platform threads) versus one virtual
+ * thread per request, with each request blocking on simulated Postgres, Mongo and Redis
+ * round trips. 400 callers keep twice as many requests in flight as the platform pool has
+ * threads, so queueing shows up in the sampled latency (read p0.99 from SampleTime).
+ * VIRTUAL_PINNED blocks inside a synchronized block, which pins the carrier thread.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    public enum Model { PLATFORM, VIRTUAL, VIRTUAL_PINNED }
+
+    @Param({"PLATFORM", "VIRTUAL", "VIRTUAL_PINNED"})
+    public Model model;
+
+    // Postgres, Mongo and Redis round trips per request
+    @Param({"5,2,1"})
+    public String backendLatencyMs;
+
+    private ExecutorService executor;
+    private long[] latencies;
+
+    @Setup
+    public void setUp() {
+        executor = model == Model.PLATFORM
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        String[] parts = backendLatencyMs.split(",");
+        latencies = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            latencies[i] = Long.parseLong(parts[i].trim());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object handleRequest() throws Exception {
+        if (model == Model.VIRTUAL_PINNED) {
+            return executor.submit(new PinnedRequest()).get();
+        }
+        return executor.submit(this::request).get();
+    }
+
+    private Object request() throws InterruptedException {
+        for (long latency : latencies) {
+            Thread.sleep(latency);
+        }
+        return Boolean.TRUE;
+    }
+
+    // Locks its own monitor: no contention, only the pinning cost. The instance escapes
+    // through the executor, so the JIT cannot elide the lock.
+    private final class PinnedRequest implements Callable<Object> {
+        @Override
+        public synchronized Object call() throws InterruptedException {
+            return request();
+        }
+    }
+}
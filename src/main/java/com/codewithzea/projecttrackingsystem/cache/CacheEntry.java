@@ -0,0 +1,18 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import lombok.*;
+
+/**
+ * Envelope stored by {@link NearCache} for refresh-ahead caches: the cached value plus when its
+ * Redis entry expires and how long it took to load, which drive the early-refresh decision.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntry {
+    private Object value;
+    private long expiresAt;   // epoch millis; the Redis TTL is derived from it
+    private long loadMillis;
+}
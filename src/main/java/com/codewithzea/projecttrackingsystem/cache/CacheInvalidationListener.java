@@ -0,0 +1,35 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies invalidations published by other nodes to this node's L1 caches.
+ */
+public class CacheInvalidationListener implements MessageListener {
+
+    private final NearCacheManager cacheManager;
+    private final String nodeId;
+
+    public CacheInvalidationListener(NearCacheManager cacheManager, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        if (CacheInvalidationPublisher.ALL_KEYS.equals(parts[2])) {
+            cacheManager.clearLocal(parts[1]);
+        } else {
+            cacheManager.evictLocal(parts[1], parts[2]);
+        }
+    }
+}
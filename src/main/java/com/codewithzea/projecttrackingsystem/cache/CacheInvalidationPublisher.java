@@ -0,0 +1,47 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Broadcasts L1 invalidations over Redis pub/sub. Messages have the form
+ * {@code nodeId|cacheName|key}, with {@code *} as the key for a full clear.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String SEPARATOR = "|";
+    static final String ALL_KEYS = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        send(cacheName, key);
+    }
+
+    public void publishClear(String cacheName) {
+        send(cacheName, ALL_KEYS);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void send(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (Exception e) {
+            // Peers fall back to L1 TTL expiry; never fail the write over a lost broadcast
+            log.warn("Failed to publish cache invalidation for {}::{}", cacheName, key, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis entry TTL shortened by a random fraction (up to {@code jitter}) so entries written
+ * together, e.g. after a deploy or a bulk eviction, do not all expire in the same instant.
+ * A {@link CacheEntry} carries its own expiry, which is used as is.
+ */
+public class JitteredTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private final Duration ttl;
+    private final double jitter;
+
+    public JitteredTtlFunction(Duration ttl, double jitter) {
+        this.ttl = ttl;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        if (value instanceof CacheEntry entry) {
+            return Duration.ofMillis(Math.max(1, entry.getExpiresAt() - System.currentTimeMillis()));
+        }
+        long millis = ttl.toMillis();
+        return Duration.ofMillis(millis - (long) (millis * jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
@@ -0,0 +1,261 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import com.codewithzea.projecttrackingsystem.dto.Versioned;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Two-tier cache: an in-process Caffeine L1 in front of the shared Redis L2.
+ * Local keys are normalised to strings so they match keys received over pub/sub.
+ * Every write or eviction is broadcast so other nodes drop their L1 copy; the L1
+ * TTL bounds staleness if a broadcast is missed.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} (i.e. {@code @Cacheable(sync = true)}) are
+ * single-flight: one caller per key on this node runs the loader, concurrent callers wait for
+ * its result. For refresh-ahead caches values are stored as a {@link CacheEntry}, and a hit
+ * triggers an early reload with a probability that rises as the entry nears expiry and with
+ * how slow it was to load (XFetch), so hot keys are renewed by one caller before they expire.
+ * A load whose {@link Versioned} result is older than what the cache holds by the time it
+ * finishes (an update committed meanwhile) is not written back.
+ */
+public class NearCache implements Cache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final CacheInvalidationPublisher publisher;
+    private final RedisCacheWriter.TtlFunction refreshAheadTtl;  // null unless refresh-ahead
+    private final double beta;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    public NearCache(Cache remote,
+                     com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                     CacheInvalidationPublisher publisher) {
+        this(remote, local, publisher, null, 0);
+    }
+
+    public NearCache(Cache remote,
+                     com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                     CacheInvalidationPublisher publisher,
+                     RedisCacheWriter.TtlFunction refreshAheadTtl,
+                     double beta) {
+        this.remote = remote;
+        this.local = local;
+        this.publisher = publisher;
+        this.refreshAheadTtl = refreshAheadTtl;
+        this.beta = beta;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object stored = lookup(key);
+        return stored != null ? new SimpleValueWrapper(unwrap(stored)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = lookup(key);
+        if (stored != null && !refreshDue(stored)) {
+            return (T) unwrap(stored);
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loads.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            // Someone is already loading: serve the current value during a refresh, otherwise wait
+            return stored != null ? (T) unwrap(stored) : (T) await(key, valueLoader, inFlight);
+        }
+        try {
+            long started = System.nanoTime();
+            T value = valueLoader.call();
+            long loadMillis = (System.nanoTime() - started) / 1_000_000;
+            Object newer = newerCached(key, value);
+            if (newer != null) {
+                value = (T) newer;
+            } else if (value != null) {
+                Object entry = wrap(key, value, loadMillis);
+                remote.put(key, entry);
+                local.put(localKey, entry);
+            }
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.remove(localKey, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            Object entry = wrap(key, value, previousLoadMillis(key));
+            remote.put(key, entry);
+            local.put(localKey(key), entry);
+        } else {
+            remote.put(key, null);
+            local.invalidate(localKey(key));
+        }
+        publisher.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value != null ? wrap(key, value, previousLoadMillis(key)) : null);
+        if (existing == null) {
+            publisher.publishEvict(getName(), localKey(key));
+        }
+        local.invalidate(localKey(key));
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        publisher.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        publisher.publishEvict(getName(), localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publishClear(getName());
+    }
+
+    // Exposed for metrics binding
+    public Cache getRemote() {
+        return remote;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocal() {
+        return local;
+    }
+
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    // Stored form (value or CacheEntry) from L1, else from Redis, copying a Redis hit into L1
+    private Object lookup(Object key) {
+        Object stored = local.getIfPresent(localKey(key));
+        if (stored != null) {
+            return stored;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey(key), wrapper.get());
+            return wrapper.get();
+        }
+        return null;
+    }
+
+    private Object wrap(Object key, Object value, long loadMillis) {
+        if (refreshAheadTtl == null) {
+            return value;
+        }
+        long expiresAt = System.currentTimeMillis() + refreshAheadTtl.getTimeToLive(key, value).toMillis();
+        return new CacheEntry(value, expiresAt, loadMillis);
+    }
+
+    // put() cannot tell how long its value took to load, so it keeps the previous entry's load
+    // time; with no previous entry the new one expires without an early refresh
+    private long previousLoadMillis(Object key) {
+        if (refreshAheadTtl == null) {
+            return 0;
+        }
+        Object previous = local.getIfPresent(localKey(key));
+        if (previous == null) {
+            ValueWrapper wrapper = remote.get(key);
+            previous = wrapper != null ? wrapper.get() : null;
+        }
+        return previous instanceof CacheEntry entry ? entry.getLoadMillis() : 0;
+    }
+
+    // The cached value if it carries a later version than the one just loaded, else null
+    private Object newerCached(Object key, Object loaded) {
+        if (!(loaded instanceof Versioned versioned) || versioned.getVersion() == null) {
+            return null;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        Object cached = wrapper != null ? unwrap(wrapper.get()) : null;
+        if (cached instanceof Versioned current && current.getVersion() != null
+                && current.getVersion() > versioned.getVersion()) {
+            return cached;
+        }
+        return null;
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof CacheEntry entry ? entry.getValue() : stored;
+    }
+
+    // XFetch: refresh once now - loadMillis * beta * ln(rand) passes the expiry
+    private boolean refreshDue(Object stored) {
+        if (!(stored instanceof CacheEntry entry) || entry.getLoadMillis() <= 0) {
+            return false;
+        }
+        double gap = -entry.getLoadMillis() * beta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.getExpiresAt();
+    }
+
+    private static Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
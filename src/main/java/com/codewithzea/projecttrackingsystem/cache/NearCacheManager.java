@@ -0,0 +1,102 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps the Redis cache manager and puts an in-process L1 in front of the configured caches.
+ * When transaction-aware, every cache defers puts and evictions until the surrounding
+ * transaction commits, so a rolled-back write never reaches either tier. Near caches listed as
+ * refresh-ahead are reloaded early by their callers, timed against the Redis entry's TTL.
+ */
+public class NearCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> nearCacheNames;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final boolean transactionAware;
+    private final CacheInvalidationPublisher publisher;
+    private final Set<String> refreshAheadNames;
+    private final double refreshAheadBeta;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager delegate, Set<String> nearCacheNames, long maximumSize,
+                            Duration ttl, boolean transactionAware, CacheInvalidationPublisher publisher) {
+        this(delegate, nearCacheNames, maximumSize, ttl, transactionAware, publisher, Set.of(), 1.0);
+    }
+
+    public NearCacheManager(CacheManager delegate, Set<String> nearCacheNames, long maximumSize,
+                            Duration ttl, boolean transactionAware, CacheInvalidationPublisher publisher,
+                            Set<String> refreshAheadNames, double refreshAheadBeta) {
+        this.delegate = delegate;
+        this.nearCacheNames = nearCacheNames;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.transactionAware = transactionAware;
+        this.publisher = publisher;
+        this.refreshAheadNames = refreshAheadNames;
+        this.refreshAheadBeta = refreshAheadBeta;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = delegate.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> decorate(remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    // Called for invalidations received from other nodes
+    public void evictLocal(String cacheName, String key) {
+        NearCache nearCache = nearCaches.get(cacheName);
+        if (nearCache != null) {
+            nearCache.evictLocal(key);
+        }
+    }
+
+    public void clearLocal(String cacheName) {
+        NearCache nearCache = nearCaches.get(cacheName);
+        if (nearCache != null) {
+            nearCache.clearLocal();
+        }
+    }
+
+    private Cache decorate(Cache remote) {
+        Cache cache = remote;
+        if (nearCacheNames.contains(remote.getName())) {
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            NearCache nearCache = refreshAheadNames.contains(remote.getName()) && remote instanceof RedisCache redisCache
+                    ? new NearCache(remote, local, publisher, redisCache.getCacheConfiguration().getTtlFunction(), refreshAheadBeta)
+                    : new NearCache(remote, local, publisher);
+            nearCaches.put(remote.getName(), nearCache);
+            cache = nearCache;
+        }
+        return transactionAware ? new TransactionAwareCacheDecorator(cache) : cache;
+    }
+}
@@ -0,0 +1,26 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Publishes both tiers of a {@link NearCache}: the Redis tier under the cache's own name
+ * (same meters as the plain Redis caches) and the Caffeine tier as {@code <name>.local}.
+ */
+public class NearCacheMeterBinderProvider implements CacheMeterBinderProvider<NearCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(NearCache cache, Iterable<Tag> tags) {
+        return registry -> {
+            new CaffeineCacheMetrics<>(cache.getLocal(), cache.getName() + ".local", tags).bindTo(registry);
+            if (cache.getRemote() instanceof RedisCache redisCache) {
+                new RedisCacheMetrics(redisCache, tags).bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.codewithzea.projecttrackingsystem.config;
+
+
+import com.codewithzea.projecttrackingsystem.datasource.ReplicaRoutingDataSource;
+import com.codewithzea.projecttrackingsystem.datasource.ReplicaStickinessFilter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces Boot's single datasource when datasource.replicas.urls lists at least one replica
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Replica pools copy the primary's settings (credentials, pool size, driver properties)
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMs) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            // Fail fast to the primary instead of waiting out the primary's timeout, and start even if down
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        int validationTimeoutSeconds = (int) Math.max(1, connectionTimeoutMs / 1000);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, validationTimeoutSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaStickinessFilter> replicaStickinessFilter(
+            @Value("${datasource.replicas.sticky-window-ms:5000}") long stickyWindowMs) {
+        FilterRegistrationBean<ReplicaStickinessFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaStickinessFilter(stickyWindowMs));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(stickyWindowMs > 0);
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.codewithzea.projecttrackingsystem.config;
+
+
+import com.codewithzea.projecttrackingsystem.cache.NearCacheMeterBinderProvider;
+import com.codewithzea.projecttrackingsystem.metrics.QueryCountFilter;
+import com.codewithzea.projecttrackingsystem.metrics.QueryCountInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    // Lets Boot's cache metrics registrar bind the two-tier caches (Redis-only caches bind out of the box)
+    @Bean
+    public NearCacheMeterBinderProvider nearCacheMeterBinderProvider() {
+        return new NearCacheMeterBinderProvider();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,19 +1,35 @@
 package com.codewithzea.projecttrackingsystem.config;
 
 
+import com.codewithzea.projecttrackingsystem.cache.CacheInvalidationListener;
+import com.codewithzea.projecttrackingsystem.cache.CacheInvalidationPublisher;
+import com.codewithzea.projecttrackingsystem.cache.JitteredTtlFunction;
+import com.codewithzea.projecttrackingsystem.cache.NearCacheManager;
+import com.codewithzea.projecttrackingsystem.service.AuditStatsService;
+import com.codewithzea.projecttrackingsystem.service.ETagService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
@@ -27,18 +43,39 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(ObjectMapper objectMapper) {
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+            ObjectMapper objectMapper,
+            @Value("${cache.ttl-jitter:0.1}") double ttlJitter) {
+        GenericJackson2JsonRedisSerializer serializer = cacheValueSerializer(objectMapper);
+
+        RedisCacheConfiguration entityCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(serializer))
+                // Up to ttl-jitter shorter per entry, so entries filled together don't expire together
+                .entryTtl(new JitteredTtlFunction(Duration.ofMinutes(10), ttlJitter))
+                .disableCachingNullValues();
 
         return builder -> builder
-                .withCacheConfiguration("projects",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .serializeKeysWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(new StringRedisSerializer()))
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(serializer))
-                                .entryTtl(Duration.ofMinutes(10)));
+                .withCacheConfiguration("projects", entityCacheConfig)
+                .withCacheConfiguration("tasks", entityCacheConfig)
+                .withCacheConfiguration("developers", entityCacheConfig)
+                .withCacheConfiguration(ETagService.PROJECTS, entityCacheConfig)
+                .withCacheConfiguration(ETagService.TASKS, entityCacheConfig)
+                .withCacheConfiguration(ETagService.DEVELOPERS, entityCacheConfig)
+                // Short TTL: the summary's overdue count depends on today's date
+                .withCacheConfiguration("projectSummaries", entityCacheConfig.entryTtl(Duration.ofMinutes(5)))
+                // Windows usually end "now", so keep reports only briefly
+                .withCacheConfiguration(AuditStatsService.CACHE, entityCacheConfig.entryTtl(Duration.ofMinutes(1)));
+    }
+
+    // Copy so type hints needed to read entries back as DTOs don't leak into API/audit JSON
+    public static GenericJackson2JsonRedisSerializer cacheValueSerializer(ObjectMapper objectMapper) {
+        return GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(objectMapper.copy())
+                .defaultTyping(true)
+                .build();
     }
 
     @Bean
@@ -53,4 +90,53 @@ public class RedisConfig {
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues();
     }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${cache.near.channel:cache-invalidation}") String channel) {
+        return new CacheInvalidationPublisher(redisTemplate, channel, UUID.randomUUID().toString());
+    }
+
+    // Redis L2 behind an in-process L1 for the caches listed in cache.near.caches;
+    // with cache.transaction-aware, puts and evictions are applied only after commit
+    @Bean
+    public NearCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                         RedisCacheConfiguration cacheConfiguration,
+                                         ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                         CacheInvalidationPublisher publisher,
+                                         @Value("${cache.near.caches:projects}") List<String> nearCaches,
+                                         @Value("${cache.near.maximum-size:10000}") long maximumSize,
+                                         @Value("${cache.near.ttl-seconds:60}") long ttlSeconds,
+                                         @Value("${cache.transaction-aware:true}") boolean transactionAware,
+                                         @Value("${cache.refresh-ahead.caches:projects}") List<String> refreshAheadCaches,
+                                         @Value("${cache.refresh-ahead.beta:1.0}") double refreshAheadBeta,
+                                         @Value("${spring.cache.redis.enable-statistics:false}") boolean enableStatistics) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration);
+        if (enableStatistics) {
+            // Hit/miss/put/eviction counters read by the cache meter binders
+            builder.enableStatistics();
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new NearCacheManager(redisCacheManager, new HashSet<>(nearCaches), maximumSize,
+                Duration.ofSeconds(ttlSeconds), transactionAware, publisher,
+                new HashSet<>(refreshAheadCaches), refreshAheadBeta);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            NearCacheManager cacheManager,
+            CacheInvalidationPublisher publisher,
+            @Value("${cache.near.channel:cache-invalidation}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager, publisher.getNodeId()),
+                new ChannelTopic(channel));
+        return container;
+    }
 }
@@ -1,13 +1,22 @@
 package com.codewithzea.projecttrackingsystem.controller;
 
 
+import com.codewithzea.projecttrackingsystem.dto.AuditActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditEntityActivityDTO;
 import com.codewithzea.projecttrackingsystem.dto.AuditLogDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditLogFilter;
+import com.codewithzea.projecttrackingsystem.dto.AuditStatsDTO;
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.service.AuditLogService;
+import com.codewithzea.projecttrackingsystem.service.AuditStatsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -15,12 +24,53 @@ import java.util.List;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
+    private final AuditStatsService auditStatsService;
 
     @GetMapping
-    public ResponseEntity<List<AuditLogDTO>> getLogs(@RequestParam(required = false) String entityType,
-                                                     @RequestParam(required = false) String actorName) {
-        return ResponseEntity.ok(auditLogService.getLogs(entityType, actorName));
+    public ResponseEntity<CursorPageDTO<AuditLogDTO>> getLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String actorName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, actorName, from, to);
+        return ResponseEntity.ok(auditLogService.getLogs(filter, cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String actorName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, actorName, from, to);
+        StreamingResponseBody body = out -> auditLogService.streamLogs(filter, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
-}
 
+    @GetMapping("/stats/activity")
+    public ResponseEntity<AuditStatsDTO<AuditActivityDTO>> getActivity(
+            @RequestParam(defaultValue = "actor") String groupBy,
+            @RequestParam(defaultValue = "DAY") String interval,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String actorName,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, actorName, from, to);
+        return ResponseEntity.ok(auditStatsService.activity(filter, actionType, groupBy, interval));
+    }
 
+    @GetMapping("/stats/top-entities")
+    public ResponseEntity<AuditStatsDTO<AuditEntityActivityDTO>> getMostModified(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String actorName,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "10") int limit) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, actorName, from, to);
+        return ResponseEntity.ok(auditStatsService.mostModified(filter, actionType, limit));
+    }
+}
@@ -0,0 +1,52 @@
+package com.codewithzea.projecttrackingsystem.controller;
+
+
+import com.codewithzea.projecttrackingsystem.dto.ImportReportDTO;
+import com.codewithzea.projecttrackingsystem.service.BulkTransferService;
+import com.codewithzea.projecttrackingsystem.service.BulkTransferService.Dataset;
+import com.codewithzea.projecttrackingsystem.service.BulkTransferService.Format;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/bulk")
+@RequiredArgsConstructor
+public class BulkTransferController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final BulkTransferService bulkTransferService;
+
+    // {dataset} is projects, tasks or developers
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        Dataset target = Dataset.from(dataset);
+        Format outputFormat = Format.from(format);
+        StreamingResponseBody body = out -> bulkTransferService.export(target, outputFormat, out);
+        String filename = target.name().toLowerCase(Locale.ROOT) + "." + outputFormat.name().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok()
+                .contentType(outputFormat == Format.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // The request body is read as a stream, so the upload never sits in memory as a whole
+    @PostMapping("/{dataset}")
+    public ResponseEntity<ImportReportDTO> importData(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkTransferService.importData(Dataset.from(dataset), Format.from(format), body));
+    }
+}
@@ -0,0 +1,40 @@
+package com.codewithzea.projecttrackingsystem.controller;
+
+
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.service.ChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private static final Set<String> TYPES = Set.of("TASK", "PROJECT");
+
+    private final ChangeFeed changeFeed;
+
+    // types: any of task, project (default both); status matches tasks and projects alike
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long developerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> types) {
+        Set<String> selected = null;
+        if (types != null && !types.isEmpty()) {
+            selected = types.stream().map(String::toUpperCase).collect(Collectors.toSet());
+            if (!TYPES.containsAll(selected)) {
+                throw new BadRequestException("types must be task and/or project");
+            }
+        }
+        return changeFeed.subscribe(projectId, developerId, status, selected);
+    }
+}
@@ -1,16 +1,24 @@
 package com.codewithzea.projecttrackingsystem.controller;
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperWorkloadDTO;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
 import com.codewithzea.projecttrackingsystem.service.DeveloperService;
+import com.codewithzea.projecttrackingsystem.service.ETagService;
+import com.codewithzea.projecttrackingsystem.util.ETagUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/developers")
@@ -18,10 +26,16 @@ import java.util.List;
 public class DeveloperController {
 
     private final DeveloperService developerService;
+    private final ETagService eTagService;
 
+    // 304 is answered from the cached ETag alone, without loading or serializing the developer
     @GetMapping("/{id}")
-    public ResponseEntity<DeveloperDTO> getDeveloperById(@PathVariable Long id) {
-        return ResponseEntity.ok(developerService.getDeveloperById(id));
+    public ResponseEntity<DeveloperDTO> getDeveloperById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(eTagService.developerETag(id))) {
+            return null;
+        }
+        DeveloperDTO developer = developerService.getDeveloperById(id);
+        return ResponseEntity.ok().eTag(ETagUtil.of(developer.getVersion())).body(developer);
     }
 
     @GetMapping
@@ -33,7 +47,19 @@ public class DeveloperController {
         Sort sort = direction.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(developerService.getAllDevelopers(pageable));
+        Page<DeveloperDTO> result = developerService.getAllDevelopers(pageable);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getTotalElements())).body(result);
+    }
+
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page): no offset, no count
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<DeveloperDTO>> getDevelopersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPageDTO<DeveloperDTO> result = developerService.getDevelopersAfter(cursor, size, sortBy, direction);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getNextCursor())).body(result);
     }
 //    @GetMapping("/sorted-by-id")
 //    public ResponseEntity<Page<DeveloperDTO>> getAllSortedDevelopersById(
@@ -60,8 +86,10 @@ public class DeveloperController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<DeveloperDTO> updateDeveloper(@PathVariable Long id, @Valid @RequestBody DeveloperDTO dto) throws Exception {
-        return ResponseEntity.ok(developerService.updateDeveloper(id, dto));
+    public ResponseEntity<DeveloperDTO> updateDeveloper(@PathVariable Long id, @Valid @RequestBody DeveloperDTO dto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+        DeveloperDTO updated = developerService.updateDeveloper(id, dto, ETagUtil.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -71,8 +99,28 @@ public class DeveloperController {
     }
 
     @GetMapping("/top")
-    public ResponseEntity<List<DeveloperDTO>> getTop5DevelopersByTaskCount() {
-        return ResponseEntity.ok(developerService.getTop5DevelopersByTaskCount());
+    public ResponseEntity<List<DeveloperWorkloadDTO>> getTopDevelopersByTaskCount(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(developerService.getTopDevelopersByTaskCount(Math.max(1, Math.min(limit, 1000)), status));
+    }
+
+    // Developers having all of ?skills=a,b (case-insensitive), least open tasks first
+    @GetMapping("/match")
+    public ResponseEntity<List<DeveloperWorkloadDTO>> matchDevelopers(
+            @RequestParam Set<String> skills,
+            @RequestParam(defaultValue = "20") int limit) {
+        skills.removeIf(String::isBlank);
+        if (skills.isEmpty()) {
+            throw new BadRequestException("At least one skill is required");
+        }
+        return ResponseEntity.ok(developerService.matchDevelopers(skills, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<DeveloperWorkloadDTO> getDeveloperRank(@PathVariable Long id,
+                                                                 @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(developerService.getDeveloperRank(id, status));
     }
 }
 
@@ -3,13 +3,20 @@ package com.codewithzea.projecttrackingsystem.controller;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.ProjectSummaryDTO;
+import com.codewithzea.projecttrackingsystem.service.ETagService;
 import com.codewithzea.projecttrackingsystem.service.ProjectService;
+import com.codewithzea.projecttrackingsystem.service.ProjectSummaryService;
+import com.codewithzea.projecttrackingsystem.util.ETagUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,10 +26,17 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectSummaryService projectSummaryService;
+    private final ETagService eTagService;
 
+    // 304 is answered from the cached ETag alone, without loading or serializing the project
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProject(@PathVariable Long id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+    public ResponseEntity<ProjectDTO> getProject(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(eTagService.projectETag(id))) {
+            return null;
+        }
+        ProjectDTO project = projectService.getProjectById(id);
+        return ResponseEntity.ok().eTag(ETagUtil.of(project.getVersion())).body(project);
     }
 
 //    @GetMapping
@@ -33,6 +47,17 @@ public class ProjectController {
 //        return ResponseEntity.ok(projectService.getAllProjects(pageable));
 //    }
 
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page): no offset, no count
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<ProjectDTO>> getProjectsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "deadline") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPageDTO<ProjectDTO> result = projectService.getProjectsAfter(cursor, size, sortBy, direction);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getNextCursor())).body(result);
+    }
+
     @GetMapping
     public ResponseEntity<Page<ProjectDTO>> getAllProjects(
             @RequestParam(defaultValue = "0") int page,
@@ -42,7 +67,8 @@ public class ProjectController {
         Sort sort = direction.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(projectService.getAllProjects(pageable));
+        Page<ProjectDTO> result = projectService.getAllProjects(pageable);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getTotalElements())).body(result);
     }
 
     @PostMapping
@@ -51,8 +77,10 @@ public class ProjectController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProjectDTO> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectDTO dto) throws Exception {
-        return ResponseEntity.ok(projectService.updateProject(id, dto));
+    public ResponseEntity<ProjectDTO> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectDTO dto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+        ProjectDTO updated = projectService.updateProject(id, dto, ETagUtil.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -61,9 +89,16 @@ public class ProjectController {
         return ResponseEntity.noContent().build();
     }
 
+    // Project, task counts by status, overdue count, developers and next due tasks in one call
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ProjectSummaryDTO> getProjectSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(projectSummaryService.getSummary(id));
+    }
+
     @GetMapping("/without-tasks")
     public ResponseEntity<List<ProjectDTO>> getProjectsWithoutTasks() {
-        return ResponseEntity.ok(projectService.findProjectsWithoutTasks());
+        List<ProjectDTO> result = projectService.findProjectsWithoutTasks();
+        return ResponseEntity.ok().eTag(ETagUtil.of(result)).body(result);
     }
 }
 
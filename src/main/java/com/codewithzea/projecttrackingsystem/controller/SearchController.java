@@ -0,0 +1,29 @@
+package com.codewithzea.projecttrackingsystem.controller;
+
+
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
+import com.codewithzea.projecttrackingsystem.dto.SearchHitDTO;
+import com.codewithzea.projecttrackingsystem.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // types: any of task, project, developer (default all)
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<SearchHitDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.search(q, types, cursor, size));
+    }
+}
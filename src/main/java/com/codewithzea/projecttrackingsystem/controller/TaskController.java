@@ -3,16 +3,21 @@ package com.codewithzea.projecttrackingsystem.controller;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.service.ETagService;
 import com.codewithzea.projecttrackingsystem.service.TaskService;
+import com.codewithzea.projecttrackingsystem.util.ETagUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
@@ -24,6 +29,7 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ETagService eTagService;
 
     @GetMapping
     public ResponseEntity<Page<TaskDTO>> getAllTasks(
@@ -35,27 +41,49 @@ public class TaskController {
         Sort sort = direction.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(taskService.getALlTasks(pageable));
+        Page<TaskDTO> result = taskService.getALlTasks(pageable);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getTotalElements())).body(result);
     }
 
+    // Keyset mode, selected by the presence of ?cursor= (empty for the first page): no offset, no count
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<TaskDTO>> getTasksByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPageDTO<TaskDTO> result = taskService.getTasksAfter(cursor, size, sortBy, direction);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getNextCursor())).body(result);
+    }
+
+    // 304 is answered from the cached ETag alone, without loading or serializing the task
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(eTagService.taskETag(id))) {
+            return null;
+        }
+        TaskDTO task = taskService.getTaskById(id);
+        return ResponseEntity.ok().eTag(ETagUtil.of(task.getVersion())).body(task);
     }
 
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<TaskDTO>> getTasksByProjectId(@PathVariable Long projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProjectId(projectId));
+        List<TaskDTO> result = taskService.getTasksByProjectId(projectId);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result)).body(result);
     }
 
     @GetMapping("/developer/{developerId}")
     public ResponseEntity<List<TaskDTO>> getTasksByDeveloperId(@PathVariable Long developerId) {
-        return ResponseEntity.ok(taskService.getTasksByDeveloperId(developerId));
+        List<TaskDTO> result = taskService.getTasksByDeveloperId(developerId);
+        return ResponseEntity.ok().eTag(ETagUtil.of(result)).body(result);
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<TaskDTO>> getOverdueTasks() {
-        return ResponseEntity.ok(taskService.getOverdueTasks());
+    public ResponseEntity<Page<TaskDTO>> getOverdueTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<TaskDTO> result = taskService.getOverdueTasks(PageRequest.of(page, size));
+        return ResponseEntity.ok().eTag(ETagUtil.of(result.getContent(), result.getTotalElements())).body(result);
     }
 
     @PostMapping
@@ -63,9 +91,16 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(dto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskDTO>> createTasks(@Valid @RequestBody List<TaskDTO> dtos) throws Exception {
+        return ResponseEntity.ok(taskService.createTasks(dtos));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO dto) throws Exception {
-        return ResponseEntity.ok(taskService.updateTask(id, dto));
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDTO dto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+        TaskDTO updated = taskService.updateTask(id, dto, ETagUtil.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtil.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -75,8 +110,10 @@ public class TaskController {
     }
 
     @GetMapping("/counts/status")
-    public ResponseEntity<Map<String, Long>> getTaskCountsByStatus() {
-        return ResponseEntity.ok(taskService.getTaskCountsByStatus());
+    public ResponseEntity<Map<String, Long>> getTaskCountsByStatus(@RequestParam(required = false) Long projectId) {
+        return ResponseEntity.ok(projectId != null
+                ? taskService.getTaskCountsByStatus(projectId)
+                : taskService.getTaskCountsByStatus());
     }
 }
 
@@ -0,0 +1,155 @@
+package com.codewithzea.projecttrackingsystem.datasource;
+
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Hands out replica connections (round robin over healthy replicas) to read-only transactions
+ * and primary connections to everything else, including work outside a transaction and
+ * requests pinned to the primary by {@link ReplicaStickinessFilter}. A replica that fails to
+ * hand out a connection is marked down and the read falls back to the primary until the
+ * health check sees it answer again.
+ * <p>
+ * Methods that fill a cache (the services' {@code @Cacheable} lookups) are plain
+ * {@code @Transactional} rather than read-only, so they read the primary and never cache a
+ * row a lagging replica has not caught up on.
+ * <p>
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the
+ * transaction has begun, after the EntityManager would otherwise have taken its connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter failovers;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    int validationTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(i + 1, replicas.get(i)))
+                .toList();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.primaryConnections = Counter.builder("db.connections.routed").tag("target", "primary")
+                .description("Connections handed out by the routing datasource").register(meterRegistry);
+        this.replicaConnections = Counter.builder("db.connections.routed").tag("target", "replica")
+                .description("Connections handed out by the routing datasource").register(meterRegistry);
+        this.failovers = Counter.builder("db.replica.failovers")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+        Gauge.builder("db.replicas.healthy", this.replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .register(meterRegistry);
+    }
+
+    // Keeps this thread's read-only work on the primary, e.g. for read-your-writes
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Same routing; the chosen pool decides whether it accepts per-call credentials
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PINNED_TO_PRIMARY.get() != null) {
+            primaryConnections.increment();
+            return opener.open(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                // e.g. a pool rejecting per-call credentials; the replica itself is fine
+                throw e;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} unavailable, routing its reads to the primary until it recovers", replica.index, e);
+            }
+        }
+        failovers.increment();
+        primaryConnections.increment();
+        return opener.open(primary);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is now {}", replica.index, healthy ? "healthy" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final int index;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.codewithzea.projecttrackingsystem.datasource;
+
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Read-your-writes for replica routing. A request that may write (anything but GET, HEAD and
+ * OPTIONS) runs entirely on the primary and leaves a cookie holding the end of the sticky
+ * window; the same client's reads stay on the primary until then, long enough for replicas
+ * to catch up. The cookie is set before the handler runs, since the response may be
+ * committed by the time it returns.
+ */
+@RequiredArgsConstructor
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "db-primary-until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long windowMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(now + windowMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMs + 999) / 1000));
+            response.addCookie(cookie);
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else if (pinnedUntil(request) > now) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditActivityDTO {
+    private Instant bucket;  // start of the hour or day, UTC
+    private String key;      // actor, entity type or action type, depending on groupBy
+    private long count;
+}
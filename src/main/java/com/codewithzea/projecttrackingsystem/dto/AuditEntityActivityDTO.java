@@ -0,0 +1,17 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEntityActivityDTO {
+    private String entityType;
+    private String entityId;
+    private long count;
+    private Instant lastModified;
+}
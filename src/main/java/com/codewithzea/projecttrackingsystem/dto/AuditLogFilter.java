@@ -0,0 +1,17 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogFilter {
+    private String entityType;
+    private String actorName;
+    private Instant from;   // inclusive
+    private Instant to;     // exclusive
+}
@@ -0,0 +1,17 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditStatsDTO<T> {
+    private Instant from;   // inclusive, after rounding to the interval
+    private Instant to;     // exclusive
+    private List<T> content;
+}
@@ -0,0 +1,23 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEventDTO {
+    private String entityType;     // TASK or PROJECT
+    private String action;         // CREATE, UPDATE, DELETE
+    private Long id;
+    private Long version;
+    private Object entity;         // TaskDTO or ProjectDTO after the change; null on delete
+
+    // Values before and after the change, so a subscriber also hears about entities leaving its filter
+    private Set<Long> projectIds;
+    private Set<String> statuses;
+    private Set<Long> developerIds;
+}
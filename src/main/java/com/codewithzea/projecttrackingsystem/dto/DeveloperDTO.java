@@ -6,7 +6,7 @@ import jakarta.validation.constraints.*;
 import java.util.Set;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-public class DeveloperDTO {
+public class DeveloperDTO implements Versioned {
     private Long id;
 
     @NotBlank @Size(max = 100)
@@ -16,6 +16,8 @@ public class DeveloperDTO {
     private String email;
 
     private Set<String> skills;
+
+    private Long version;   // read-only; sent as the ETag and expected back in If-Match
 }
 
 
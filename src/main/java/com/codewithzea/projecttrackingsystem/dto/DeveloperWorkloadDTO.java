@@ -0,0 +1,16 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeveloperWorkloadDTO {
+    private Long developerId;
+    private String name;
+    private long taskCount;
+    private long rank;      // 1-based
+}
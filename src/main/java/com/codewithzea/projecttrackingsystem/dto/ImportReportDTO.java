@@ -0,0 +1,21 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportDTO {
+    private String dataset;
+    private long read;          // records parsed from the input
+    private long imported;      // records written
+    private long failed;        // records rejected by validation or in a failed batch
+    private boolean completed;  // false if the input could not be parsed to the end
+    private long elapsedMs;
+    private List<String> errors;  // first few problems, by record number
+}
@@ -11,7 +11,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ProjectDTO {
+public class ProjectDTO implements Versioned {
     private Long id;
 
     @NotBlank @Size(max = 100)
@@ -26,5 +26,7 @@ public class ProjectDTO {
 
     @NotBlank
     private String status;
+
+    private Long version;   // read-only; sent as the ETag and expected back in If-Match
 }
 
@@ -0,0 +1,35 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectSummaryDTO {
+    private ProjectDTO project;
+    private long totalTasks;
+    private Map<String, Long> taskCountsByStatus;
+    private long overdueCount;
+    private Set<Long> assignedDeveloperIds;
+    private List<UpcomingTask> nextDue;  // soonest open tasks that are not yet overdue
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UpcomingTask {
+        private Long taskId;
+        private String title;
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate dueDate;
+    }
+}
@@ -0,0 +1,16 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitDTO {
+    private String type;   // TASK, PROJECT or DEVELOPER
+    private Long id;
+    private String title;  // task title, project or developer name
+    private double rank;
+}
@@ -13,7 +13,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TaskDTO {
+public class TaskDTO implements Versioned {
     private Long id;
 
     @NotBlank @Size(max = 150)
@@ -33,5 +33,7 @@ public class TaskDTO {
     private Long projectId;
 
     private Set<Long> assignedDeveloperIds;
+
+    private Long version;   // read-only; sent as the ETag and expected back in If-Match
 }
 
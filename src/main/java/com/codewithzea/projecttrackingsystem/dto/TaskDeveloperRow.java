@@ -0,0 +1,8 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+// One task_developer link
+public interface TaskDeveloperRow {
+    Long getTaskId();
+    Long getDeveloperId();
+}
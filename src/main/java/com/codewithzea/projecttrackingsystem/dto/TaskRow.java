@@ -0,0 +1,15 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+import java.time.LocalDate;
+
+// Flat projection of a task's own columns; project id comes from the FK, no join
+public interface TaskRow {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    String getStatus();
+    LocalDate getDueDate();
+    Long getProjectId();
+    Long getVersion();
+}
@@ -0,0 +1,8 @@
+package com.codewithzea.projecttrackingsystem.dto;
+
+
+// DTOs carrying their entity's @Version, from which ETags are derived
+public interface Versioned {
+    Long getId();
+    Long getVersion();
+}
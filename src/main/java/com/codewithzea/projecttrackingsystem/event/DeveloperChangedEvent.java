@@ -0,0 +1,15 @@
+package com.codewithzea.projecttrackingsystem.event;
+
+
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import lombok.*;
+
+/**
+ * Published by DeveloperService on every developer write; see {@link TaskChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class DeveloperChangedEvent {
+    private final DeveloperDTO before;  // null on create
+    private final DeveloperDTO after;   // null on delete
+}
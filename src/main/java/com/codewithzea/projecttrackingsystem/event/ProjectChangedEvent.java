@@ -0,0 +1,15 @@
+package com.codewithzea.projecttrackingsystem.event;
+
+
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import lombok.*;
+
+/**
+ * Published by ProjectService on every project write; see {@link TaskChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectChangedEvent {
+    private final ProjectDTO before;  // null on create
+    private final ProjectDTO after;   // null on delete
+}
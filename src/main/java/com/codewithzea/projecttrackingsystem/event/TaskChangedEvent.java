@@ -0,0 +1,45 @@
+package com.codewithzea.projecttrackingsystem.event;
+
+
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Published by TaskService on every task write. Listeners that maintain derived
+ * state (indexes, counters, feeds) receive it after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskChangedEvent {
+
+    private final List<Change> changes;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+        private final TaskDTO before;  // null on create
+        private final TaskDTO after;   // null on delete
+    }
+
+    public static TaskChangedEvent created(TaskDTO after) {
+        return new TaskChangedEvent(List.of(new Change(null, after)));
+    }
+
+    public static TaskChangedEvent createdAll(List<TaskDTO> created) {
+        return new TaskChangedEvent(created.stream().map(dto -> new Change(null, dto)).toList());
+    }
+
+    public static TaskChangedEvent updated(TaskDTO before, TaskDTO after) {
+        return new TaskChangedEvent(List.of(new Change(before, after)));
+    }
+
+    public static TaskChangedEvent deleted(TaskDTO before) {
+        return new TaskChangedEvent(List.of(new Change(before, null)));
+    }
+
+    public static TaskChangedEvent deletedAll(List<TaskDTO> deleted) {
+        return new TaskChangedEvent(deleted.stream().map(dto -> new Change(dto, null)).toList());
+    }
+}
@@ -0,0 +1,7 @@
+package com.codewithzea.projecttrackingsystem.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
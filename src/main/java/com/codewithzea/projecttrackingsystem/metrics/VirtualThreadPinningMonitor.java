@@ -0,0 +1,84 @@
+package com.codewithzea.projecttrackingsystem.metrics;
+
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In virtual-thread mode, a virtual thread that blocks while holding a monitor (a synchronized
+ * block around JDBC, Mongo or Redis I/O) pins its carrier and quietly shrinks the carrier pool.
+ * This streams the JDK's own pinning events, counts them as {@code jvm.threads.virtual.pinned}
+ * and logs the top application frame so the offending lock can be replaced with a ReentrantLock.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.codewithzea.";
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${threads.virtual.pinning-threshold-ms:20}") long thresholdMs) {
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), culprit(event));
+    }
+
+    // First frame in our own code, falling back to the top frame (pinning inside a library)
+    private static String culprit(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = event.getStackTrace().getFrames().get(0);
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                top = frame;
+                break;
+            }
+        }
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
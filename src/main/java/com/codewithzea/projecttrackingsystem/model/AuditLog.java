@@ -2,12 +2,19 @@ package com.codewithzea.projecttrackingsystem.model;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.*;
 import java.time.Instant;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Document(collection = "audit_logs")
+// Every index ends in (timestamp, _id) so keyset pages sorted newest-first are index scans
+@CompoundIndex(name = "entity_actor_ts", def = "{'entityType': 1, 'actorName': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(name = "entity_ts", def = "{'entityType': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(name = "actor_ts", def = "{'actorName': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(name = "ts", def = "{'timestamp': -1, '_id': -1}")
+// The TTL index on timestamp is managed by AuditStorageService, since its age is configurable
 public class AuditLog {
 
     @Id
@@ -19,7 +26,8 @@ public class AuditLog {
     private Instant timestamp;
     private String actorName;
 
-    private String payload;      // JSON snapshot of the entity
+    private String payload;      // JSON: entity snapshot on CREATE, JSON Patch of changed fields on UPDATE
+    private byte[] payloadData;  // binary and/or compressed payload, used instead of payload when set
+    private String payloadFormat; // null/json, smile, cbor, with "+gzip" when compressed
 }
 
-
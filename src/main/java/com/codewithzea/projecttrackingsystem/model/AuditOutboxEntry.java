@@ -0,0 +1,44 @@
+package com.codewithzea.projecttrackingsystem.model;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Audit event written in the same Postgres transaction as the change it describes, so it
+ * exists exactly when the change committed. AuditOutboxRelay moves entries to MongoDB's
+ * audit_logs and deletes them.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditOutboxEntry {
+
+    // Pooled sequence so bulk writes batch their outbox inserts; also the relay order
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_outbox_seq")
+    @SequenceGenerator(name = "audit_outbox_seq", sequenceName = "audit_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String actionType;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    private String entityId;
+
+    private String actorName;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
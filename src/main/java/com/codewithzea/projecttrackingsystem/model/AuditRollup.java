@@ -0,0 +1,29 @@
+package com.codewithzea.projecttrackingsystem.model;
+
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Audit entry counts per hour or day, per entity type, action and actor. Maintained by
+ * AuditStorageService from audit_logs and kept after the raw entries expire.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Document(collection = "audit_rollups")
+@CompoundIndex(name = "granularity_bucket", def = "{'granularity': 1, 'bucket': -1}")
+public class AuditRollup {
+
+    @Id
+    private String id;           // granularity|bucket|entityType|actionType|actorName
+
+    private String granularity;  // HOUR or DAY
+    private Instant bucket;      // start of the hour or day, UTC
+    private String entityType;
+    private String actionType;
+    private String actorName;
+    private long count;
+}
@@ -6,10 +6,14 @@ package com.codewithzea.projecttrackingsystem.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.*;
 
 @Entity
-@Table(name = "developers")
+@Table(name = "developers", indexes = {
+        // Backs keyset pagination on name (ties broken by id)
+        @Index(name = "idx_developers_name_id", columnList = "name, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,8 +21,10 @@ import java.util.*;
 @Builder
 public class Developer {
 
+    // Pooled sequence, as for tasks, so bulk imports batch their inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_seq")
+    @SequenceGenerator(name = "developer_seq", sequenceName = "developers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank @Size(max = 100)
@@ -28,7 +34,13 @@ public class Developer {
     @Column(unique = true)
     private String email;
 
+    // Optimistic lock and ETag source; nullable only for rows predating the column (backfilled in schema.sql)
+    @Version
+    private Long version;
+
+    // Skills for a page of developers load in a few IN queries instead of one per developer
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "developer_skills", joinColumns = @JoinColumn(name = "developer_id"))
     @Column(name = "skill")
     private Set<String> skills = new HashSet<>();
@@ -9,7 +9,11 @@ import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // Back keyset pagination on deadline and name (ties broken by id)
+        @Index(name = "idx_projects_deadline_id", columnList = "deadline, id"),
+        @Index(name = "idx_projects_name_id", columnList = "name, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +22,10 @@ import java.util.*;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Project {
 
+    // Pooled sequence, as for tasks, so bulk imports batch their inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank @Size(max = 100)
@@ -34,6 +40,10 @@ public class Project {
     @NotBlank
     private String status; // e.g., "ACTIVE", "COMPLETED", "ON_HOLD"
 
+    // Optimistic lock and ETag source; nullable only for rows predating the column (backfilled in schema.sql)
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 }
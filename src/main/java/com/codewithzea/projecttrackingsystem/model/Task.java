@@ -10,12 +10,20 @@ import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Backs keyset pagination on dueDate (ties broken by id)
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id"),
+        // Project-scoped reads and the project summary aggregates
+        @Index(name = "idx_tasks_project_id", columnList = "project_id")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
 
+    // Sequence ids (pooled, 50 per round trip) let Hibernate batch task inserts;
+    // IDENTITY forces one INSERT per row to read back the key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank @Size(max = 150)
@@ -30,6 +38,10 @@ public class Task {
     @NotNull
     private LocalDate dueDate;
 
+    // Optimistic lock and ETag source; nullable only for rows predating the column (backfilled in schema.sql)
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "project_id", nullable = false)
@@ -0,0 +1,26 @@
+package com.codewithzea.projecttrackingsystem.repository;
+
+
+import com.codewithzea.projecttrackingsystem.model.AuditOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutboxEntry, Long> {
+
+    // Oldest unclaimed entries; rows locked by another relay are skipped rather than waited on
+    @Query(value = "SELECT * FROM audit_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AuditOutboxEntry> lockBatch(@Param("limit") int limit);
+
+    // Read-write so it reads the primary; a lagging replica could miss entries just committed
+    @Transactional
+    @Query("SELECT MIN(e.createdAt) FROM AuditOutboxEntry e")
+    Optional<Instant> findOldestCreatedAt();
+}
@@ -5,19 +5,60 @@ package com.codewithzea.projecttrackingsystem.repository;
 
 
 import com.codewithzea.projecttrackingsystem.model.Developer;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface DeveloperRepository extends JpaRepository<Developer, Long> {
 
-    // Find top 5 developers with most tasks assigned
-    @Query("SELECT d FROM Developer d LEFT JOIN d.assignedTasks t GROUP BY d ORDER BY COUNT(t) DESC")
-    List<Developer> findTop5ByTaskCount(Pageable pageable);
+    // Backs ETag lookups without loading the entity
+    @Query("SELECT d.version FROM Developer d WHERE d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Keyset (seek) page: WHERE (sortKey, id) > last seen, no count query
+    Window<Developer> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Task counts per developer and task status (status is null for developers without tasks),
+    // used to rebuild the workload leaderboard
+    @Query("SELECT d.id, t.status, COUNT(t) FROM Developer d LEFT JOIN d.assignedTasks t GROUP BY d.id, t.status")
+    List<Object[]> countTasksGroupedByDeveloperAndStatus();
+
+    @Query("SELECT d.id, d.name FROM Developer d WHERE d.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Developer d ORDER BY d.id")
+    Stream<Developer> streamAll();
+
+    // Full load for the in-memory skill index
+    @Query("SELECT d.id, d.name FROM Developer d")
+    List<Object[]> findAllIdsAndNames();
+
+    @Query("SELECT d.id, s FROM Developer d JOIN d.skills s")
+    List<Object[]> findAllSkills();
+
+    @Query("SELECT d.id, s FROM Developer d JOIN d.skills s WHERE d.id IN :ids")
+    List<Object[]> findSkillsByDeveloperIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.email FROM Developer d WHERE d.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
     boolean existsByEmail(String email);
 }
@@ -5,14 +5,38 @@ package com.codewithzea.projecttrackingsystem.repository;
 
 
 import com.codewithzea.projecttrackingsystem.model.Project;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    // Backs ETag lookups without loading the entity
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Keyset (seek) page: WHERE (sortKey, id) > last seen, no count query
+    Window<Project> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p ORDER BY p.id")
+    Stream<Project> streamAll();
+
     // Fetch projects without any tasks
     @Query("SELECT p FROM Project p WHERE p.tasks IS EMPTY")
     List<Project> findProjectsWithoutTasks();
@@ -0,0 +1,63 @@
+package com.codewithzea.projecttrackingsystem.repository;
+
+
+import com.codewithzea.projecttrackingsystem.dto.SearchHitDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranked full-text search over the tsvector columns and GIN indexes created in schema.sql.
+ * Native SQL because JPQL has no full-text operators.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    public enum Type { TASK, PROJECT, DEVELOPER }
+
+    // Each arm keeps only its own top :armLimit hits, so the UNION never sorts more than
+    // offset + limit rows per type however common the prefix is
+    private static final String TASKS = "(SELECT 'TASK' AS type, t.id, t.title, ts_rank(t.search_vector, q.query) AS rank " +
+            "FROM tasks t CROSS JOIN q WHERE t.search_vector @@ q.query " +
+            "ORDER BY rank DESC, t.id LIMIT :armLimit)";
+
+    private static final String PROJECTS = "(SELECT 'PROJECT' AS type, p.id, p.name, ts_rank(p.search_vector, q.query) AS rank " +
+            "FROM projects p CROSS JOIN q WHERE p.search_vector @@ q.query " +
+            "ORDER BY rank DESC, p.id LIMIT :armLimit)";
+
+    // Expression must match idx_developer_skills_search for the index to be used
+    private static final String DEVELOPERS = "(SELECT 'DEVELOPER' AS type, d.id, d.name, " +
+            "SUM(ts_rank(to_tsvector('simple', s.skill), q.query)) AS rank " +
+            "FROM developer_skills s JOIN developers d ON d.id = s.developer_id CROSS JOIN q " +
+            "WHERE to_tsvector('simple', s.skill) @@ q.query GROUP BY d.id, d.name " +
+            "ORDER BY rank DESC, d.id LIMIT :armLimit)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param tsQuery a to_tsquery expression; callers must build it from sanitised terms
+     */
+    public List<SearchHitDTO> search(String tsQuery, Set<Type> types, int offset, int limit) {
+        List<String> arms = new ArrayList<>();
+        if (types.contains(Type.TASK)) arms.add(TASKS);
+        if (types.contains(Type.PROJECT)) arms.add(PROJECTS);
+        if (types.contains(Type.DEVELOPER)) arms.add(DEVELOPERS);
+
+        String sql = "WITH q AS (SELECT to_tsquery('simple', :query) AS query) " +
+                "SELECT type, id, title, rank FROM (" + String.join(" UNION ALL ", arms) + ") hits " +
+                "ORDER BY rank DESC, type, id LIMIT :limit OFFSET :offset";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", tsQuery)
+                .addValue("limit", limit)
+                .addValue("offset", offset)
+                .addValue("armLimit", offset + limit);
+        return jdbcTemplate.query(sql, params, (rs, i) -> new SearchHitDTO(
+                rs.getString("type"), rs.getLong("id"), rs.getString("title"), rs.getDouble("rank")));
+    }
+}
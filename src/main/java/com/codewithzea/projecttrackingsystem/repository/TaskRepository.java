@@ -4,17 +4,43 @@ package com.codewithzea.projecttrackingsystem.repository;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.TaskDeveloperRow;
+import com.codewithzea.projecttrackingsystem.dto.TaskRow;
 import com.codewithzea.projecttrackingsystem.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    // Backs ETag lookups without loading the entity
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT t.id, t.version FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset (seek) page: WHERE (sortKey, id) > last seen, no count query
+    Window<Task> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    String TASK_ROW = "SELECT t.id AS id, t.title AS title, t.description AS description, " +
+            "t.status AS status, t.dueDate AS dueDate, t.project.id AS projectId, t.version AS version FROM Task t";
+
     // Find all tasks by project id
     List<Task> findByProjectId(Long projectId);
 
@@ -29,4 +55,53 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Task counts grouped by status
     @Query("SELECT t.status as status, COUNT(t) as count FROM Task t GROUP BY t.status")
     List<Object[]> countTasksGroupedByStatus();
+
+    // Task counts grouped by project and status, used to reconcile the incremental counters
+    @Query("SELECT t.project.id, t.status, COUNT(t) FROM Task t GROUP BY t.project.id, t.status")
+    List<Object[]> countTasksGroupedByProjectAndStatus();
+
+    // Projection read paths: task columns only, developer ids fetched separately in one query
+    @Query(value = TASK_ROW, countQuery = "SELECT COUNT(t) FROM Task t")
+    Page<TaskRow> findAllRows(Pageable pageable);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TASK_ROW + " ORDER BY t.id")
+    Stream<TaskRow> streamAllRows();
+
+    @Query(TASK_ROW + " WHERE t.project.id = :projectId")
+    List<TaskRow> findRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(TASK_ROW + " JOIN t.assignedDevelopers d WHERE d.id = :developerId")
+    List<TaskRow> findRowsByDeveloperId(@Param("developerId") Long developerId);
+
+    @Query(TASK_ROW + " WHERE t.id IN :ids")
+    List<TaskRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Project summary: per status, the task count and how many of them are overdue
+    @Query("SELECT t.status, COUNT(t), SUM(CASE WHEN t.dueDate < CURRENT_DATE AND t.status <> 'DONE' THEN 1 ELSE 0 END) " +
+            "FROM Task t WHERE t.project.id = :projectId GROUP BY t.status")
+    List<Object[]> summarizeByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT DISTINCT d.id FROM Task t JOIN t.assignedDevelopers d WHERE t.project.id = :projectId")
+    List<Long> findDeveloperIdsByProjectId(@Param("projectId") Long projectId);
+
+    // Open tasks due today or later, soonest first
+    @Query("SELECT t.id, t.title, t.dueDate FROM Task t WHERE t.project.id = :projectId " +
+            "AND t.status <> 'DONE' AND t.dueDate >= CURRENT_DATE ORDER BY t.dueDate, t.id")
+    List<Object[]> findUpcomingByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    // Keyset scan of (id, dueDate) for open tasks, used to rebuild the overdue index
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.status <> 'DONE' AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findOpenTaskDueDates(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Current (id, dueDate) of the given ids that are still open; used to verify index entries
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.status <> 'DONE' AND t.id IN :ids")
+    List<Object[]> findOpenTaskDueDatesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id AS taskId, d.id AS developerId FROM Task t JOIN t.assignedDevelopers d WHERE t.id IN :taskIds")
+    List<TaskDeveloperRow> findDeveloperIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
 }
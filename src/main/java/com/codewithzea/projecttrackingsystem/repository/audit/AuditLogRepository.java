@@ -10,7 +10,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends MongoRepository<AuditLog, String> {
+public interface AuditLogRepository extends MongoRepository<AuditLog, String>, AuditLogRepositoryCustom {
 
     List<AuditLog> findByEntityType(String entityType);
 
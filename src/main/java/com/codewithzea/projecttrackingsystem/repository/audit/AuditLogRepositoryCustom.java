@@ -0,0 +1,32 @@
+package com.codewithzea.projecttrackingsystem.repository.audit;
+
+
+import com.codewithzea.projecttrackingsystem.dto.AuditActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditEntityActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditLogFilter;
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AuditLogRepositoryCustom {
+
+    // Newest first, strictly after the (timestamp, id) position when one is given
+    List<AuditLog> findPage(AuditLogFilter filter, Instant afterTimestamp, String afterId, int limit);
+
+    // Unordered bulk insert that skips entries whose _id already exists; returns the number inserted
+    int insertIgnoringDuplicates(List<AuditLog> logs);
+
+    // Forward-only cursor over every matching entry, newest first; caller must close the stream
+    Stream<AuditLog> streamAll(AuditLogFilter filter);
+
+    // Raw entries counted per hour/day bucket and per value of the dimension field
+    List<AuditActivityDTO> countActivity(AuditLogFilter filter, String actionType, String unit, String dimension);
+
+    // Same counts summed from audit_rollups; the filter's range selects buckets by their start
+    List<AuditActivityDTO> countRollups(AuditLogFilter filter, String actionType, String granularity, String dimension);
+
+    // Entities with the most audit entries, ties broken by the most recent change
+    List<AuditEntityActivityDTO> findMostModified(AuditLogFilter filter, String actionType, int limit);
+}
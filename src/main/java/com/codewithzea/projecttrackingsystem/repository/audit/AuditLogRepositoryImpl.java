@@ -0,0 +1,155 @@
+package com.codewithzea.projecttrackingsystem.repository.audit;
+
+
+import com.codewithzea.projecttrackingsystem.dto.AuditActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditEntityActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditLogFilter;
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.model.AuditRollup;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+    private static final int DUPLICATE_KEY = 11000;
+    private static final AggregationOptions ALLOW_DISK_USE = AggregationOptions.builder().allowDiskUse(true).build();
+
+    // Turns the {bucket, key} group id back into flat AuditActivityDTO fields
+    private static final AggregationOperation FLATTEN_BUCKETS = context -> new Document("$project", new Document("_id", 0)
+            .append("bucket", "$_id.bucket")
+            .append("key", "$_id.key")
+            .append("count", 1));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilter filter, Instant afterTimestamp, String afterId, int limit) {
+        Query query = buildQuery(filter);
+        if (afterTimestamp != null && afterId != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(afterTimestamp),
+                    Criteria.where("timestamp").is(afterTimestamp).and("id").lt(afterId)));
+        }
+        query.with(NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, AuditLog.class);
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<AuditLog> logs) {
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditLog.class)
+                    .insert(logs)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public Stream<AuditLog> streamAll(AuditLogFilter filter) {
+        Query query = buildQuery(filter).with(NEWEST_FIRST).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, AuditLog.class);
+    }
+
+    @Override
+    public List<AuditActivityDTO> countActivity(AuditLogFilter filter, String actionType, String unit, String dimension) {
+        Document bucket = new Document("$dateTrunc", new Document("date", "$timestamp").append("unit", unit));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(matchAll(filterCriteria(filter, "timestamp", actionType))),
+                groupByBucket(bucket, dimension, 1),
+                FLATTEN_BUCKETS).withOptions(ALLOW_DISK_USE);
+        return mongoTemplate.aggregate(aggregation, AuditLog.class, AuditActivityDTO.class).getMappedResults();
+    }
+
+    @Override
+    public List<AuditActivityDTO> countRollups(AuditLogFilter filter, String actionType, String granularity, String dimension) {
+        List<Criteria> criteria = filterCriteria(filter, "bucket", actionType);
+        criteria.add(Criteria.where("granularity").is(granularity));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(matchAll(criteria)),
+                groupByBucket("$bucket", dimension, "$count"),
+                FLATTEN_BUCKETS).withOptions(ALLOW_DISK_USE);
+        return mongoTemplate.aggregate(aggregation, AuditRollup.class, AuditActivityDTO.class).getMappedResults();
+    }
+
+    @Override
+    public List<AuditEntityActivityDTO> findMostModified(AuditLogFilter filter, String actionType, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(matchAll(filterCriteria(filter, "timestamp", actionType))),
+                context -> new Document("$group", new Document("_id", new Document("entityType", "$entityType")
+                        .append("entityId", "$entityId"))
+                        .append("count", new Document("$sum", 1))
+                        .append("lastModified", new Document("$max", "$timestamp"))),
+                context -> new Document("$sort", new Document("count", -1).append("lastModified", -1)),
+                context -> new Document("$limit", limit),
+                context -> new Document("$project", new Document("_id", 0)
+                        .append("entityType", "$_id.entityType")
+                        .append("entityId", "$_id.entityId")
+                        .append("count", 1)
+                        .append("lastModified", 1))).withOptions(ALLOW_DISK_USE);
+        return mongoTemplate.aggregate(aggregation, AuditLog.class, AuditEntityActivityDTO.class).getMappedResults();
+    }
+
+    private static AggregationOperation groupByBucket(Object bucket, String dimension, Object increment) {
+        return context -> new Document("$group", new Document("_id", new Document("bucket", bucket)
+                .append("key", "$" + dimension))
+                .append("count", new Document("$sum", increment)));
+    }
+
+    private static Criteria matchAll(List<Criteria> criteria) {
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+
+    private Query buildQuery(AuditLogFilter filter) {
+        Query query = new Query();
+        filterCriteria(filter, "timestamp", null).forEach(query::addCriteria);
+        return query;
+    }
+
+    private static List<Criteria> filterCriteria(AuditLogFilter filter, String timeField, String actionType) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.getEntityType() != null) {
+            criteria.add(Criteria.where("entityType").is(filter.getEntityType()));
+        }
+        if (filter.getActorName() != null) {
+            criteria.add(Criteria.where("actorName").is(filter.getActorName()));
+        }
+        if (actionType != null) {
+            criteria.add(Criteria.where("actionType").is(actionType));
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria range = Criteria.where(timeField);
+            if (filter.getFrom() != null) {
+                range.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                range.lt(filter.getTo());
+            }
+            criteria.add(range);
+        }
+        return criteria;
+    }
+}
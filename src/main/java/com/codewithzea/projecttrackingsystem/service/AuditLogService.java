@@ -2,37 +2,77 @@ package com.codewithzea.projecttrackingsystem.service;
 
 
 import com.codewithzea.projecttrackingsystem.dto.AuditLogDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditLogFilter;
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
 import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.model.AuditOutboxEntry;
+import com.codewithzea.projecttrackingsystem.repository.AuditOutboxRepository;
 import com.codewithzea.projecttrackingsystem.repository.audit.AuditLogRepository;
+import com.codewithzea.projecttrackingsystem.util.CursorUtil;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_FLUSH_EVERY = 500;
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final AuditPayloadCodec auditPayloadCodec;
+    private final ObjectMapper objectMapper;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void log(String actionType, String entityType, String entityId, String payloadJson) {
         log(actionType, entityType, entityId, "SYSTEM", payloadJson);
     }
 
-    // Original log method (kept for potential future use)
+    // Written to the outbox in the caller's transaction; AuditOutboxRelay copies it to MongoDB after commit
+    @Transactional(propagation = Propagation.MANDATORY)
     public void log(String actionType, String entityType, String entityId, String actorName, String payloadJson) {
-        AuditLog log = AuditLog.builder()
+        auditOutboxRepository.save(AuditOutboxEntry.builder()
                 .actionType(actionType)
                 .entityType(entityType)
                 .entityId(entityId)
                 .actorName(actorName != null ? actorName : "SYSTEM")
                 .payload(payloadJson)
-                .timestamp(Instant.now())
-                .build();
+                .createdAt(Instant.now())
+                .build());
+    }
 
-        auditLogRepository.save(log);
+    // One entry per id, all stamped with the same time; used by bulk write paths
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void logAll(String actionType, String entityType, Map<String, String> payloadsById) {
+        Instant now = Instant.now();
+        List<AuditOutboxEntry> entries = new ArrayList<>(payloadsById.size());
+        payloadsById.forEach((entityId, payloadJson) -> entries.add(AuditOutboxEntry.builder()
+                .actionType(actionType)
+                .entityType(entityType)
+                .entityId(entityId)
+                .actorName("SYSTEM")
+                .payload(payloadJson)
+                .createdAt(now)
+                .build()));
+        auditOutboxRepository.saveAll(entries);
     }
 
 
@@ -44,32 +84,59 @@ public class AuditLogService {
         return auditLogRepository.findByActorName(actorName);
     }
 
-    public List<AuditLogDTO> getLogs(String entityType, String actorName) {
-        List<AuditLog> logs;
-
-        if (entityType != null && actorName != null) {
-            logs = auditLogRepository.findByEntityTypeAndActorName(entityType, actorName);
-        } else if (entityType != null) {
-            logs = auditLogRepository.findByEntityType(entityType);
-        } else if (actorName != null) {
-            logs = auditLogRepository.findByActorName(actorName);
-        } else {
-            logs = auditLogRepository.findAll();
+    public CursorPageDTO<AuditLogDTO> getLogs(AuditLogFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Instant afterTimestamp = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 2);
+            try {
+                afterTimestamp = Instant.parse(parts[0]);
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            afterId = parts[1];
         }
 
-        return logs.stream().map(this::toDTO).collect(Collectors.toList());
-    }
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<AuditLog> logs = auditLogRepository.findPage(filter, afterTimestamp, afterId, limit + 1);
+        boolean hasNext = logs.size() > limit;
+        if (hasNext) {
+            logs = logs.subList(0, limit);
+        }
 
-    private AuditLogDTO toDTO(AuditLog log) {
-        return AuditLogDTO.builder()
-                .actionType(log.getActionType())
-                .entityType(log.getEntityType())
-                .entityId(log.getEntityId())
-                .timestamp(log.getTimestamp())
-                .actorName(log.getActorName())
-                .payload(log.getPayload())
+        String nextCursor = null;
+        if (hasNext) {
+            AuditLog last = logs.get(logs.size() - 1);
+            nextCursor = CursorUtil.encode(last.getTimestamp().toString(), last.getId());
+        }
+
+        return CursorPageDTO.<AuditLogDTO>builder()
+                .content(logs.stream().map(this::toDTO).collect(Collectors.toList()))
+                .size(logs.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
                 .build();
     }
-}
 
+    // Writes one JSON document per line straight off the Mongo cursor
+    public void streamLogs(AuditLogFilter filter, OutputStream out) throws IOException {
+        try (Stream<AuditLog> logs = auditLogRepository.streamAll(filter)) {
+            int written = 0;
+            for (AuditLog log : (Iterable<AuditLog>) logs::iterator) {
+                out.write(objectMapper.writeValueAsBytes(toDTO(log)));
+                out.write('\n');
+                if (++written % STREAM_FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
 
+    private AuditLogDTO toDTO(AuditLog log) {
+        AuditLogDTO dto = MapperUtil.toAuditLogDTO(log);
+        dto.setPayload(auditPayloadCodec.decode(log));
+        return dto;
+    }
+}
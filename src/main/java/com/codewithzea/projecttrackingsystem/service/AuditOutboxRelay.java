@@ -0,0 +1,129 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.model.AuditOutboxEntry;
+import com.codewithzea.projecttrackingsystem.repository.AuditOutboxRepository;
+import com.codewithzea.projecttrackingsystem.repository.audit.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves audit events from the Postgres outbox to MongoDB. Each batch is claimed with
+ * FOR UPDATE SKIP LOCKED, so relays on several nodes take disjoint batches, bulk-inserted
+ * into audit_logs and deleted in the same transaction. A Mongo failure rolls the claim back
+ * and the batch is retried on the next poll.
+ * <p>
+ * Delivery is at-least-once on the wire but not in the collection: each document's _id is
+ * derived from its outbox id, so a batch re-sent after the delete failed to commit is skipped.
+ */
+@Slf4j
+@Component
+public class AuditOutboxRelay {
+
+    private final AuditOutboxRepository outboxRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditPayloadCodec auditPayloadCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong lagMs = new AtomicLong();
+    private final Timer writeTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter failures;
+
+    public AuditOutboxRelay(AuditOutboxRepository outboxRepository,
+                            AuditLogRepository auditLogRepository,
+                            AuditPayloadCodec auditPayloadCodec,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.outbox.batch-size:1000}") int batchSize,
+                            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.auditPayloadCodec = auditPayloadCodec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        this.writeTimer = Timer.builder("audit.write")
+                .description("Encoding plus bulk insert of one audit batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("audit.write.batch.size")
+                .baseUnit("entries")
+                .register(meterRegistry);
+        this.failures = Counter.builder("audit.relay.failures")
+                .description("Relay batches rolled back and left in the outbox for retry")
+                .register(meterRegistry);
+        Gauge.builder("audit.outbox.lag", lagMs, AtomicLong::get)
+                .description("Age of the oldest outbox entry at the last poll")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${audit.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            // Full batches mean a backlog: keep draining instead of waiting for the next poll
+            while (relayBatch() == batchSize) {
+                // next batch
+            }
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Audit relay failed; the batch stays in the outbox and is retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<AuditOutboxEntry> entries = outboxRepository.lockBatch(batchSize);
+            if (entries.isEmpty()) {
+                lagMs.set(0);
+                return 0;
+            }
+            lagMs.set(Duration.between(entries.get(0).getCreatedAt(), Instant.now()).toMillis());
+
+            Timer.Sample sample = Timer.start();
+            List<AuditLog> logs = entries.stream().map(AuditOutboxRelay::toAuditLog).toList();
+            logs.forEach(auditPayloadCodec::encode);
+            auditLogRepository.insertIgnoringDuplicates(logs);
+            outboxRepository.deleteAllByIdInBatch(entries.stream().map(AuditOutboxEntry::getId).toList());
+            sample.stop(writeTimer);
+            batchSizes.record(entries.size());
+            return entries.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    // _id = creation second + outbox id: stable across retries and still roughly time-ordered
+    static AuditLog toAuditLog(AuditOutboxEntry entry) {
+        byte[] id = ByteBuffer.allocate(12)
+                .putInt((int) entry.getCreatedAt().getEpochSecond())
+                .putLong(entry.getId())
+                .array();
+        return AuditLog.builder()
+                .id(new ObjectId(id).toHexString())
+                .actionType(entry.getActionType())
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .actorName(entry.getActorName())
+                .payload(entry.getPayload())
+                .timestamp(entry.getCreatedAt())
+                .build();
+    }
+}
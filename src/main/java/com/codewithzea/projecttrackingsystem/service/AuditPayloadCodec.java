@@ -0,0 +1,181 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds compact audit payloads: a DTO snapshot on create and an RFC 6902 style patch of
+ * only the changed fields on update. At write time the JSON can be re-encoded as Smile or
+ * CBOR and gzip-compressed once it passes a size threshold; {@link #decode} reverses this.
+ */
+@Slf4j
+@Component
+public class AuditPayloadCodec {
+
+    public enum Format { JSON, SMILE, CBOR }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper SMILE = new SmileMapper();
+    private static final ObjectMapper CBOR = new CBORMapper();
+    private static final String GZIP_SUFFIX = "+gzip";
+    // Served in place of a payload that cannot be decoded, so one bad entry doesn't fail a page or stream
+    static final String UNREADABLE = "{\"unreadablePayload\":true}";
+
+    private final ObjectMapper objectMapper;
+    private final Format format;
+    private final int compressThresholdBytes;
+
+    public AuditPayloadCodec(ObjectMapper objectMapper,
+                             @Value("${audit.payload.format:JSON}") Format format,
+                             @Value("${audit.payload.compress-threshold-bytes:1024}") int compressThresholdBytes) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+        this.compressThresholdBytes = compressThresholdBytes;
+    }
+
+    public String snapshot(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    // Patch that turns before into after; arrays are compared as sets since DTOs hold Sets
+    public String diff(Object before, Object after) throws JsonProcessingException {
+        ArrayNode ops = JSON.createArrayNode();
+        diff("", objectMapper.valueToTree(before), objectMapper.valueToTree(after), ops);
+        return JSON.writeValueAsString(ops);
+    }
+
+    // Moves payload into its storage form; called by the audit outbox relay
+    public void encode(AuditLog entry) {
+        String json = entry.getPayload();
+        if (json == null || json.isEmpty() || entry.getPayloadData() != null) {
+            return;
+        }
+        try {
+            byte[] bytes = format == Format.JSON
+                    ? json.getBytes(StandardCharsets.UTF_8)
+                    : binaryMapper(format).writeValueAsBytes(JSON.readTree(json));
+            String storedFormat = format.name().toLowerCase();
+            if (bytes.length >= compressThresholdBytes) {
+                bytes = gzip(bytes);
+                storedFormat += GZIP_SUFFIX;
+            } else if (format == Format.JSON) {
+                return;
+            }
+            entry.setPayloadData(bytes);
+            entry.setPayloadFormat(storedFormat);
+            entry.setPayload(null);
+        } catch (IOException e) {
+            // Keep the plain JSON rather than lose the payload
+            log.warn("Failed to encode audit payload as {}; storing it as plain JSON", format, e);
+        }
+    }
+
+    public String decode(AuditLog entry) {
+        if (entry.getPayloadData() == null) {
+            return entry.getPayload();
+        }
+        try {
+            String storedFormat = entry.getPayloadFormat() != null ? entry.getPayloadFormat() : "json";
+            byte[] bytes = entry.getPayloadData();
+            if (storedFormat.endsWith(GZIP_SUFFIX)) {
+                bytes = gunzip(bytes);
+                storedFormat = storedFormat.substring(0, storedFormat.length() - GZIP_SUFFIX.length());
+            }
+            Format encoded = Format.valueOf(storedFormat.toUpperCase());
+            if (encoded == Format.JSON) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            return JSON.writeValueAsString(binaryMapper(encoded).readTree(bytes));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unreadable {} audit payload for {}", entry.getPayloadFormat(), entry.getId(), e);
+            return UNREADABLE;
+        }
+    }
+
+    private static void diff(String path, JsonNode before, JsonNode after, ArrayNode ops) {
+        if (sameValue(before, after)) {
+            return;
+        }
+        if (before.isObject() && after.isObject()) {
+            Iterator<String> names = before.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!after.has(name)) {
+                    ops.addObject().put("op", "remove").put("path", path + "/" + escape(name));
+                }
+            }
+            for (Map.Entry<String, JsonNode> field : after.properties()) {
+                String childPath = path + "/" + escape(field.getKey());
+                if (!before.has(field.getKey())) {
+                    ObjectNode op = ops.addObject().put("op", "add").put("path", childPath);
+                    op.set("value", field.getValue());
+                } else {
+                    diff(childPath, before.get(field.getKey()), field.getValue(), ops);
+                }
+            }
+            return;
+        }
+        ObjectNode op = ops.addObject().put("op", "replace").put("path", path);
+        op.set("value", after);
+    }
+
+    private static boolean sameValue(JsonNode before, JsonNode after) {
+        if (before.isArray() && after.isArray()) {
+            if (before.size() != after.size()) {
+                return false;
+            }
+            Set<JsonNode> elements = new HashSet<>();
+            before.forEach(elements::add);
+            for (JsonNode element : after) {
+                if (!elements.contains(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return before.equals(after);
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static ObjectMapper binaryMapper(Format format) {
+        return format == Format.CBOR ? CBOR : SMILE;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.AuditActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditEntityActivityDTO;
+import com.codewithzea.projecttrackingsystem.dto.AuditLogFilter;
+import com.codewithzea.projecttrackingsystem.dto.AuditStatsDTO;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.repository.audit.AuditLogRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit reports computed server-side. Activity counts come from audit_rollups for the hours the
+ * rollup job has closed and from raw entries only for the remainder, so long windows stay cheap;
+ * most-modified entities need entity ids, which only raw entries carry, so that window is capped.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+public class AuditStatsService {
+
+    public static final String CACHE = "auditStats";
+
+    private static final Map<String, String> DIMENSIONS = Map.of(
+            "actor", "actorName",
+            "entityType", "entityType",
+            "actionType", "actionType");
+    private static final Duration MAX_HOURLY_WINDOW = Duration.ofDays(31);
+    private static final Duration MAX_RAW_WINDOW = Duration.ofDays(31);
+    private static final Duration DEFAULT_RAW_WINDOW = Duration.ofDays(7);
+    private static final int MAX_TOP_ENTITIES = 100;
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditStorageService auditStorageService;
+
+    @Cacheable(cacheNames = CACHE, key = "'activity|' + #groupBy + '|' + #interval + '|' + #actionType + '|' "
+            + "+ #filter.entityType + '|' + #filter.actorName + '|' + #filter.from + '|' + #filter.to")
+    public AuditStatsDTO<AuditActivityDTO> activity(AuditLogFilter filter, String actionType, String groupBy, String interval) {
+        String dimension = DIMENSIONS.get(groupBy);
+        if (dimension == null) {
+            throw new BadRequestException("groupBy must be one of actor, entityType, actionType");
+        }
+        ChronoUnit unit = switch (interval.toUpperCase()) {
+            case "HOUR" -> ChronoUnit.HOURS;
+            case "DAY" -> ChronoUnit.DAYS;
+            default -> throw new BadRequestException("interval must be HOUR or DAY");
+        };
+
+        // Widen the window to whole buckets so partial hours/days are never reported
+        Instant to = roundUp(filter.getTo() != null ? filter.getTo() : Instant.now(), unit);
+        Instant from = filter.getFrom() != null
+                ? filter.getFrom().truncatedTo(unit)
+                : to.minus(unit == ChronoUnit.HOURS ? Duration.ofDays(1) : Duration.ofDays(30));
+        requireWindow(from, to, unit == ChronoUnit.HOURS ? MAX_HOURLY_WINDOW : null);
+
+        Instant through = auditStorageService.rolledUpThrough();
+        Instant split = through == null || through.isBefore(from) ? from : through.isAfter(to) ? to : through;
+        String granularity = unit == ChronoUnit.HOURS ? "HOUR" : "DAY";
+
+        // A day can straddle the split, so counts for the same bucket and key are summed
+        Map<List<Object>, AuditActivityDTO> merged = new LinkedHashMap<>();
+        List<AuditActivityDTO> parts = new ArrayList<>();
+        if (split.isAfter(from)) {
+            parts.addAll(auditLogRepository.countRollups(window(filter, from, split), actionType, granularity, dimension));
+        }
+        if (to.isAfter(split)) {
+            parts.addAll(auditLogRepository.countActivity(window(filter, split, to), actionType,
+                    granularity.toLowerCase(), dimension));
+        }
+        for (AuditActivityDTO part : parts) {
+            merged.merge(Arrays.asList(part.getBucket(), part.getKey()), part, (a, b) -> {
+                a.setCount(a.getCount() + b.getCount());
+                return a;
+            });
+        }
+
+        List<AuditActivityDTO> content = new ArrayList<>(merged.values());
+        content.sort(Comparator.comparing(AuditActivityDTO::getBucket)
+                .thenComparing(AuditActivityDTO::getKey, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return new AuditStatsDTO<>(from, to, content);
+    }
+
+    @Cacheable(cacheNames = CACHE, key = "'top|' + #limit + '|' + #actionType + '|' "
+            + "+ #filter.entityType + '|' + #filter.actorName + '|' + #filter.from + '|' + #filter.to")
+    public AuditStatsDTO<AuditEntityActivityDTO> mostModified(AuditLogFilter filter, String actionType, int limit) {
+        Instant to = filter.getTo() != null ? filter.getTo() : Instant.now();
+        Instant from = filter.getFrom() != null ? filter.getFrom() : to.minus(DEFAULT_RAW_WINDOW);
+        requireWindow(from, to, MAX_RAW_WINDOW);
+
+        List<AuditEntityActivityDTO> content = auditLogRepository.findMostModified(
+                window(filter, from, to), actionType, Math.max(1, Math.min(limit, MAX_TOP_ENTITIES)));
+        return new AuditStatsDTO<>(from, to, content);
+    }
+
+    private static void requireWindow(Instant from, Instant to, Duration max) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (max != null && Duration.between(from, to).compareTo(max) > 0) {
+            throw new BadRequestException("Window must not exceed " + max.toDays() + " days");
+        }
+    }
+
+    private static Instant roundUp(Instant instant, ChronoUnit unit) {
+        Instant truncated = instant.truncatedTo(unit);
+        return truncated.equals(instant) ? instant : truncated.plus(1, unit);
+    }
+
+    private static AuditLogFilter window(AuditLogFilter filter, Instant from, Instant to) {
+        return new AuditLogFilter(filter.getEntityType(), filter.getActorName(), from, to);
+    }
+}
@@ -0,0 +1,211 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.model.AuditLog;
+import com.codewithzea.projecttrackingsystem.model.AuditRollup;
+import com.codewithzea.projecttrackingsystem.repository.AuditOutboxRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the audit working set bounded. Raw audit_logs entries expire through a TTL index after
+ * audit.retention.raw-days, while hourly and daily counts per entity type, action and actor
+ * live on in audit_rollups (hourly ones expire after audit.retention.hourly-rollup-days, daily
+ * ones are kept).
+ * <p>
+ * Rollups are rebuilt incrementally: each run re-aggregates the closed hours since the last
+ * run, reaching back audit.rollup.lookback-hours to pick up entries the outbox relay delivered
+ * late, and replaces those buckets with $merge. An hour is only counted as rolled up once the
+ * outbox holds no entry from it, so a relay backlog holds the watermark back rather than
+ * leaving its entries out. Re-running a window is idempotent, and several nodes may run the
+ * job at once.
+ */
+@Slf4j
+@Service
+public class AuditStorageService {
+
+    private static final String ROLLUPS = "audit_rollups";
+    private static final String STATE = "audit_rollup_state";
+    private static final String STATE_ID = "hourly";
+    private static final String RAW_TTL_INDEX = "timestamp_ttl";
+    private static final String HOURLY_TTL_INDEX = "hourly_bucket_ttl";
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final long rawRetentionDays;
+    private final long hourlyRollupRetentionDays;
+    private final long lookbackHours;
+
+    public AuditStorageService(MongoTemplate mongoTemplate,
+                               AuditOutboxRepository auditOutboxRepository,
+                               @Value("${audit.retention.raw-days:90}") long rawRetentionDays,
+                               @Value("${audit.retention.hourly-rollup-days:400}") long hourlyRollupRetentionDays,
+                               @Value("${audit.rollup.lookback-hours:6}") long lookbackHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.rawRetentionDays = rawRetentionDays;
+        this.hourlyRollupRetentionDays = hourlyRollupRetentionDays;
+        this.lookbackHours = lookbackHours;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyRetention() {
+        try {
+            ensureTtlIndex(mongoTemplate.getCollectionName(AuditLog.class), RAW_TTL_INDEX,
+                    new Document("timestamp", 1), null, rawRetentionDays);
+            ensureTtlIndex(mongoTemplate.getCollectionName(AuditRollup.class), HOURLY_TTL_INDEX,
+                    new Document("bucket", 1), new Document("granularity", "HOUR"), hourlyRollupRetentionDays);
+        } catch (Exception e) {
+            log.warn("Failed to apply audit retention settings", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.rollup.interval-ms:300000}",
+            initialDelayString = "${audit.rollup.initial-delay-ms:60000}")
+    public void rollUp() {
+        try {
+            Instant until = rollupEnd();
+            Instant from = rollupStart(until);
+            aggregateHours(from, until);
+            aggregateDays(from != null ? from.truncatedTo(ChronoUnit.DAYS) : null, until);
+            mongoTemplate.getCollection(STATE).replaceOne(Filters.eq("_id", STATE_ID),
+                    new Document("_id", STATE_ID).append("through", Date.from(until)),
+                    new ReplaceOptions().upsert(true));
+        } catch (Exception e) {
+            log.warn("Failed to roll up audit logs; the window is retried on the next run", e);
+        }
+    }
+
+    // End of the hours covered by audit_rollups, or null before the first run
+    public Instant rolledUpThrough() {
+        Document state = mongoTemplate.getCollection(STATE).find(Filters.eq("_id", STATE_ID)).first();
+        return state != null ? state.getDate("through").toInstant() : null;
+    }
+
+    // Start of the current hour, or of the oldest hour with entries still waiting in the outbox
+    private Instant rollupEnd() {
+        Instant until = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        Instant oldestPending = auditOutboxRepository.findOldestCreatedAt().orElse(null);
+        if (oldestPending != null && oldestPending.isBefore(until)) {
+            return oldestPending.truncatedTo(ChronoUnit.HOURS);
+        }
+        return until;
+    }
+
+    // Earlier of the last run and the lookback; null on the first run, which rolls up everything
+    private Instant rollupStart(Instant until) {
+        Instant through = rolledUpThrough();
+        if (through == null) {
+            return null;
+        }
+        Instant lookback = until.minus(lookbackHours, ChronoUnit.HOURS);
+        return through.isBefore(lookback) ? through : lookback;
+    }
+
+    private void aggregateHours(Instant from, Instant until) {
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("timestamp", range(from, until))));
+        pipeline.add(new Document("$group", new Document("_id", new Document()
+                .append("bucket", truncate("$timestamp", "hour"))
+                .append("entityType", "$entityType")
+                .append("actionType", "$actionType")
+                .append("actorName", "$actorName"))
+                .append("count", new Document("$sum", 1))));
+        pipeline.addAll(toRollups("HOUR"));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(AuditLog.class))
+                .aggregate(pipeline).allowDiskUse(true).toCollection();
+    }
+
+    // Days are summed from the hourly rollups, so they stay correct after raw entries expire
+    private void aggregateDays(Instant from, Instant until) {
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("granularity", "HOUR").append("bucket", range(from, until))));
+        pipeline.add(new Document("$group", new Document("_id", new Document()
+                .append("bucket", truncate("$bucket", "day"))
+                .append("entityType", "$entityType")
+                .append("actionType", "$actionType")
+                .append("actorName", "$actorName"))
+                .append("count", new Document("$sum", "$count"))));
+        pipeline.addAll(toRollups("DAY"));
+        mongoTemplate.getCollection(ROLLUPS).aggregate(pipeline).allowDiskUse(true).toCollection();
+    }
+
+    // Flattens the group key into a rollup document and replaces any existing bucket
+    private static List<Document> toRollups(String granularity) {
+        Document id = new Document("$concat", List.of(
+                granularity, "|",
+                new Document("$dateToString", new Document("date", "$_id.bucket")), "|",
+                new Document("$ifNull", List.of("$_id.entityType", "")), "|",
+                new Document("$ifNull", List.of("$_id.actionType", "")), "|",
+                new Document("$ifNull", List.of("$_id.actorName", ""))));
+        Document project = new Document("_id", id)
+                .append("granularity", granularity)
+                .append("bucket", "$_id.bucket")
+                .append("entityType", "$_id.entityType")
+                .append("actionType", "$_id.actionType")
+                .append("actorName", "$_id.actorName")
+                .append("count", 1);
+        Document merge = new Document("into", ROLLUPS)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert");
+        return List.of(new Document("$project", project), new Document("$merge", merge));
+    }
+
+    private static Document range(Instant from, Instant until) {
+        Document range = new Document("$lt", Date.from(until));
+        if (from != null) {
+            range.append("$gte", Date.from(from));
+        }
+        return range;
+    }
+
+    private static Document truncate(String field, String unit) {
+        return new Document("$dateTrunc", new Document("date", field).append("unit", unit));
+    }
+
+    // Creates, retunes (collMod) or drops a TTL index so it matches the configured age; 0 keeps data forever
+    private void ensureTtlIndex(String collection, String name, Document keys, Document partialFilter, long days) {
+        MongoCollection<Document> indexed = mongoTemplate.getCollection(collection);
+        Document existing = null;
+        for (Document index : indexed.listIndexes()) {
+            if (name.equals(index.getString("name"))) {
+                existing = index;
+            }
+        }
+        if (days <= 0) {
+            if (existing != null) {
+                indexed.dropIndex(name);
+            }
+            return;
+        }
+        long seconds = TimeUnit.DAYS.toSeconds(days);
+        if (existing == null) {
+            IndexOptions options = new IndexOptions().name(name).expireAfter(seconds, TimeUnit.SECONDS);
+            if (partialFilter != null) {
+                options.partialFilterExpression(partialFilter);
+            }
+            indexed.createIndex(keys, options);
+        } else if (((Number) existing.get("expireAfterSeconds")).longValue() != seconds) {
+            mongoTemplate.executeCommand(new Document("collMod", collection)
+                    .append("index", new Document("name", name).append("expireAfterSeconds", seconds)));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.ImportReportDTO;
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDeveloperRow;
+import com.codewithzea.projecttrackingsystem.dto.TaskRow;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk export and import of projects, tasks and developers as NDJSON or CSV.
+ * Exports read through a forward-only cursor and write chunk by chunk; imports parse one record
+ * at a time and hand fixed-size batches to the services' bulk create paths, so neither side
+ * holds more than one chunk in memory. Collections are ';'-separated in CSV.
+ */
+@Slf4j
+@Service
+public class BulkTransferService {
+
+    public enum Dataset {
+        PROJECTS(ProjectDTO.class), TASKS(TaskDTO.class), DEVELOPERS(DeveloperDTO.class);
+
+        private final Class<?> type;
+
+        Dataset(Class<?> type) {
+            this.type = type;
+        }
+
+        public static Dataset from(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown dataset " + name);
+            }
+        }
+    }
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format from(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported format " + name);
+            }
+        }
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final DeveloperRepository developerRepository;
+    private final TaskService taskService;
+    private final ProjectService projectService;
+    private final DeveloperService developerService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+
+    public BulkTransferService(TaskRepository taskRepository,
+                               ProjectRepository projectRepository,
+                               DeveloperRepository developerRepository,
+                               TaskService taskService,
+                               ProjectService projectService,
+                               DeveloperService developerService,
+                               EntityManager entityManager,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${bulk.chunk-size:1000}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.developerRepository = developerRepository;
+        this.taskService = taskService;
+        this.projectService = projectService;
+        this.developerService = developerService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder().addModule(new JavaTimeModule()).build();
+        this.chunkSize = chunkSize;
+    }
+
+    // Export
+
+    @Transactional(readOnly = true)
+    public void export(Dataset dataset, Format format, OutputStream out) throws IOException {
+        try (SequenceWriter writer = writerFor(dataset, format).writeValues(out)) {
+            switch (dataset) {
+                case PROJECTS -> exportProjects(writer);
+                case TASKS -> exportTasks(writer);
+                case DEVELOPERS -> exportDevelopers(writer);
+            }
+        }
+    }
+
+    private void exportProjects(SequenceWriter writer) throws IOException {
+        try (Stream<Project> projects = projectRepository.streamAll()) {
+            int written = 0;
+            for (Project project : (Iterable<Project>) projects::iterator) {
+                writer.write(MapperUtil.toProjectDTO(project));
+                entityManager.detach(project);
+                if (++written % chunkSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+    }
+
+    private void exportTasks(SequenceWriter writer) throws IOException {
+        List<TaskRow> chunk = new ArrayList<>(chunkSize);
+        try (Stream<TaskRow> rows = taskRepository.streamAllRows()) {
+            for (TaskRow row : (Iterable<TaskRow>) rows::iterator) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeTasks(chunk, writer);
+                }
+            }
+        }
+        writeTasks(chunk, writer);
+    }
+
+    // One query for the developer links of the whole chunk
+    private void writeTasks(List<TaskRow> chunk, SequenceWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> developerIds = new HashMap<>();
+        List<Long> taskIds = chunk.stream().map(TaskRow::getId).collect(Collectors.toList());
+        for (TaskDeveloperRow link : taskRepository.findDeveloperIdsByTaskIds(taskIds)) {
+            developerIds.computeIfAbsent(link.getTaskId(), k -> new HashSet<>()).add(link.getDeveloperId());
+        }
+        for (TaskRow row : chunk) {
+            writer.write(MapperUtil.toTaskDTO(row, developerIds.get(row.getId())));
+        }
+        writer.flush();
+        chunk.clear();
+    }
+
+    private void exportDevelopers(SequenceWriter writer) throws IOException {
+        List<Developer> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Developer> developers = developerRepository.streamAll()) {
+            for (Developer dev : (Iterable<Developer>) developers::iterator) {
+                chunk.add(dev);
+                if (chunk.size() == chunkSize) {
+                    writeDevelopers(chunk, writer);
+                }
+            }
+        }
+        writeDevelopers(chunk, writer);
+    }
+
+    // Skills come from one query per chunk; the lazy collections are never touched
+    private void writeDevelopers(List<Developer> chunk, SequenceWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> skills = new HashMap<>();
+        List<Long> ids = chunk.stream().map(Developer::getId).collect(Collectors.toList());
+        for (Object[] row : developerRepository.findSkillsByDeveloperIds(ids)) {
+            skills.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        for (Developer dev : chunk) {
+            writer.write(DeveloperDTO.builder()
+                    .id(dev.getId())
+                    .name(dev.getName())
+                    .email(dev.getEmail())
+                    .skills(skills.getOrDefault(dev.getId(), new HashSet<>()))
+                    .build());
+            entityManager.detach(dev);
+        }
+        writer.flush();
+        chunk.clear();
+    }
+
+    // Import
+
+    /**
+     * Ids in the input are ignored and assigned on insert; projectId and assignedDeveloperIds
+     * must refer to rows that already exist. Invalid records are skipped; a batch that fails
+     * to write (e.g. unknown project, duplicate email) is rolled back and counted as failed.
+     */
+    public ImportReportDTO importData(Dataset dataset, Format format, InputStream in) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReportDTO report = ImportReportDTO.builder()
+                .dataset(dataset.name())
+                .errors(new ArrayList<>())
+                .build();
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        long firstInChunk = 1;
+
+        try (MappingIterator<Object> records = readerFor(dataset, format).readValues(in)) {
+            while (true) {
+                Object record;
+                try {
+                    if (!records.hasNextValue()) {
+                        report.setCompleted(true);
+                        break;
+                    }
+                    record = records.nextValue();
+                    report.setRead(report.getRead() + 1);
+                } catch (JsonParseException e) {
+                    // Malformed input: the parser cannot resynchronise, stop here
+                    addError(report, "record " + (report.getRead() + 1) + ": " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    report.setRead(report.getRead() + 1);
+                    report.setFailed(report.getFailed() + 1);
+                    addError(report, "record " + report.getRead() + ": " + e.getOriginalMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<Object>> violations = validator.validate(record);
+                if (!violations.isEmpty()) {
+                    report.setFailed(report.getFailed() + 1);
+                    addError(report, "record " + report.getRead() + ": " + violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                if (chunk.isEmpty()) {
+                    firstInChunk = report.getRead();
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(dataset, chunk, firstInChunk, report);
+                }
+            }
+        }
+        writeChunk(dataset, chunk, firstInChunk, report);
+
+        report.setElapsedMs(System.currentTimeMillis() - started);
+        log.info("Import of {} finished: {} read, {} imported, {} failed in {} ms", dataset,
+                report.getRead(), report.getImported(), report.getFailed(), report.getElapsedMs());
+        return report;
+    }
+
+    // Each batch commits on its own, so a bad batch does not undo earlier ones
+    @SuppressWarnings("unchecked")
+    private void writeChunk(Dataset dataset, List<Object> chunk, long firstRecord, ImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            switch (dataset) {
+                case PROJECTS -> {
+                    List<ProjectDTO> projects = (List<ProjectDTO>) (List<?>) chunk;
+                    projects.forEach(p -> p.setId(null));
+                    projectService.createProjects(projects);
+                }
+                case TASKS -> {
+                    List<TaskDTO> tasks = (List<TaskDTO>) (List<?>) chunk;
+                    tasks.forEach(t -> t.setId(null));
+                    taskService.createTasks(tasks);
+                }
+                case DEVELOPERS -> {
+                    List<DeveloperDTO> developers = (List<DeveloperDTO>) (List<?>) chunk;
+                    developers.forEach(d -> d.setId(null));
+                    developerService.createDevelopers(developers);
+                }
+            }
+            report.setImported(report.getImported() + chunk.size());
+        } catch (Exception e) {
+            report.setFailed(report.getFailed() + chunk.size());
+            addError(report, "records " + firstRecord + "-" + (firstRecord + chunk.size() - 1) + ": " + e.getMessage());
+        }
+        log.info("Import of {}: {} read, {} imported, {} failed so far", dataset,
+                report.getRead(), report.getImported(), report.getFailed());
+        chunk.clear();
+    }
+
+    private static void addError(ImportReportDTO report, String error) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        }
+    }
+
+    private ObjectWriter writerFor(Dataset dataset, Format format) {
+        if (format == Format.CSV) {
+            return csvMapper.writerFor(dataset.type).with(csvSchema(dataset));
+        }
+        return objectMapper.writerFor(dataset.type).withRootValueSeparator("\n");
+    }
+
+    private ObjectReader readerFor(Dataset dataset, Format format) {
+        if (format == Format.CSV) {
+            // Columns are matched by header name, in any order; absent columns stay null
+            return csvMapper.readerFor(dataset.type)
+                    .with(csvSchema(dataset).withColumnReordering(true))
+                    .without(CsvParser.Feature.FAIL_ON_MISSING_HEADER_COLUMNS)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+        return objectMapper.readerFor(dataset.type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private CsvSchema csvSchema(Dataset dataset) {
+        return csvMapper.schemaFor(dataset.type).withHeader().withArrayElementSeparator(";");
+    }
+}
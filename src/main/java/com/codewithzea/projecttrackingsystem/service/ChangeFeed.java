@@ -0,0 +1,372 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.cache.CacheInvalidationPublisher;
+import com.codewithzea.projecttrackingsystem.dto.ChangeEventDTO;
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.ProjectChangedEvent;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes task and project changes to Server-Sent Events subscribers.
+ * <p>
+ * Committed writes on this node are dispatched locally and broadcast on Redis so every other node
+ * dispatches them to its own subscribers. Each subscriber buffers matching events keyed by entity,
+ * so a burst of updates to one task is sent once with its latest state; buffers are flushed every
+ * feed.coalesce-ms. A subscriber that lets more than feed.max-pending entities pile up while its
+ * previous batch is still being sent is disconnected, and is expected to reload and resubscribe.
+ * Independently, a buffer that reaches feed.max-buffered entities between flushes is replaced by a
+ * single resync event telling the client to reload, so no burst can grow a buffer without bound.
+ * Batches are sent on Boot's application task executor, which follows spring.threads.virtual.enabled.
+ */
+@Slf4j
+@Component
+public class ChangeFeed implements MessageListener {
+
+    private static final TypeReference<List<ChangeEventDTO>> EVENT_LIST = new TypeReference<>() {};
+    private static final String RESYNC_KEY = "RESYNC";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId;
+    private final int maxPending;
+    private final int maxBuffered;
+    private final long heartbeatMs;
+    private final long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AsyncTaskExecutor senders;
+    private final Counter slowConsumerDisconnects;
+    private final Counter resyncs;
+
+    public ChangeFeed(StringRedisTemplate redisTemplate,
+                      RedisMessageListenerContainer listenerContainer,
+                      CacheInvalidationPublisher publisher,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor senders,
+                      @Value("${feed.channel:change-feed}") String channel,
+                      @Value("${feed.max-pending:1000}") int maxPending,
+                      @Value("${feed.max-buffered:10000}") int maxBuffered,
+                      @Value("${feed.heartbeat-ms:15000}") long heartbeatMs,
+                      @Value("${feed.timeout-ms:1800000}") long timeoutMs) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.nodeId = publisher.getNodeId();
+        this.maxPending = maxPending;
+        this.maxBuffered = maxBuffered;
+        this.senders = senders;
+        this.heartbeatMs = heartbeatMs;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections on this node")
+                .register(meterRegistry);
+        this.slowConsumerDisconnects = Counter.builder("feed.slow.disconnects")
+                .description("Subscribers dropped because their buffer overflowed")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("feed.resyncs")
+                .description("Subscriber buffers replaced by a resync event after reaching feed.max-buffered")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // Null filter values match everything; types is a subset of TASK, PROJECT
+    public SseEmitter subscribe(Long projectId, Long developerId, String status, Set<String> types) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, projectId, developerId, status, types);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<ChangeEventDTO> changes = new ArrayList<>(event.getChanges().size());
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            changes.add(taskChange(change.getBefore(), change.getAfter()));
+        }
+        publish(changes);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        publish(List.of(projectChange(event.getBefore(), event.getAfter())));
+    }
+
+    // A peer committed changes: hand them to local subscribers
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length != 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            dispatch(objectMapper.readValue(parts[1], EVENT_LIST));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed change feed message", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feed.coalesce-ms:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.overflowed) {
+                slowConsumerDisconnects.increment();
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            } else if ((subscriber.hasPending() || now - subscriber.lastSentAt >= heartbeatMs)
+                    && subscriber.sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(() -> drain(subscriber));
+                } catch (TaskRejectedException e) {
+                    // Retried on the next flush
+                    subscriber.drained();
+                }
+            }
+        }
+    }
+
+    private void publish(List<ChangeEventDTO> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        dispatch(changes);
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + objectMapper.writeValueAsString(changes));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast {} change feed events; subscribers on other nodes miss them", changes.size(), e);
+        }
+    }
+
+    private void dispatch(List<ChangeEventDTO> changes) {
+        for (Subscriber subscriber : subscribers) {
+            for (ChangeEventDTO change : changes) {
+                if (subscriber.matches(change) && subscriber.offer(change, maxPending, maxBuffered)) {
+                    resyncs.increment();
+                }
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            List<ChangeEventDTO> batch = subscriber.takePending();
+            if (batch.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+            for (ChangeEventDTO change : batch) {
+                if (change.getEntityType().equals(RESYNC_KEY)) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data("reload"));
+                    continue;
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(change.getEntityType().toLowerCase())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+            subscriber.lastSentAt = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's callbacks may not fire for a half-closed socket
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.drained();
+        }
+    }
+
+    private static ChangeEventDTO taskChange(TaskDTO before, TaskDTO after) {
+        TaskDTO current = after != null ? after : before;
+        Set<Long> projectIds = new HashSet<>();
+        Set<String> statuses = new HashSet<>();
+        Set<Long> developerIds = new HashSet<>();
+        for (TaskDTO side : Arrays.asList(before, after)) {
+            if (side != null) {
+                projectIds.add(side.getProjectId());
+                statuses.add(side.getStatus());
+                if (side.getAssignedDeveloperIds() != null) {
+                    developerIds.addAll(side.getAssignedDeveloperIds());
+                }
+            }
+        }
+        return ChangeEventDTO.builder()
+                .entityType("TASK")
+                .action(action(before, after))
+                .id(current.getId())
+                .version(current.getVersion())
+                .entity(after)
+                .projectIds(projectIds)
+                .statuses(statuses)
+                .developerIds(developerIds)
+                .build();
+    }
+
+    private static ChangeEventDTO projectChange(ProjectDTO before, ProjectDTO after) {
+        ProjectDTO current = after != null ? after : before;
+        Set<String> statuses = new HashSet<>();
+        for (ProjectDTO side : Arrays.asList(before, after)) {
+            if (side != null) {
+                statuses.add(side.getStatus());
+            }
+        }
+        return ChangeEventDTO.builder()
+                .entityType("PROJECT")
+                .action(action(before, after))
+                .id(current.getId())
+                .version(current.getVersion())
+                .entity(after)
+                .projectIds(Set.of(current.getId()))
+                .statuses(statuses)
+                .developerIds(Set.of())
+                .build();
+    }
+
+    private static String action(Object before, Object after) {
+        return before == null ? "CREATE" : after == null ? "DELETE" : "UPDATE";
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long projectId;
+        private final Long developerId;
+        private final String status;
+        private final Set<String> types;
+
+        // Latest undelivered event per entity, in first-seen order
+        private final Map<String, ChangeEventDTO> pending = new LinkedHashMap<>();
+        private final Lock lock = new ReentrantLock();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private boolean draining;  // a taken batch is being sent; guarded by lock
+        private boolean resync;    // pending holds only the resync marker; guarded by lock
+        private volatile boolean overflowed;
+        private volatile long lastSentAt = System.currentTimeMillis();
+
+        private Subscriber(SseEmitter emitter, Long projectId, Long developerId, String status, Set<String> types) {
+            this.emitter = emitter;
+            this.projectId = projectId;
+            this.developerId = developerId;
+            this.status = status;
+            this.types = types;
+        }
+
+        private boolean matches(ChangeEventDTO change) {
+            return (types == null || types.contains(change.getEntityType()))
+                    && (projectId == null || change.getProjectIds().contains(projectId))
+                    && (developerId == null || change.getDeveloperIds().contains(developerId))
+                    && (status == null || change.getStatuses().contains(status));
+        }
+
+        // Returns true if this change replaced the buffer with a resync event
+        private boolean offer(ChangeEventDTO change, int maxPending, int maxBuffered) {
+            String key = change.getEntityType() + ":" + change.getId();
+            lock.lock();
+            try {
+                if (resync) {
+                    // The client reloads after the resync event, which covers this change
+                    return false;
+                }
+                ChangeEventDTO previous = pending.get(key);
+                if (previous != null && "CREATE".equals(previous.getAction()) && "UPDATE".equals(change.getAction())) {
+                    // The client never saw the create, so the merged event still is one; events are
+                    // shared between subscribers, hence the copy
+                    change = new ChangeEventDTO(change.getEntityType(), "CREATE", change.getId(), change.getVersion(),
+                            change.getEntity(), change.getProjectIds(), change.getStatuses(), change.getDeveloperIds());
+                }
+                pending.put(key, change);
+                // A burst (e.g. one bulk create) that lands between flushes is simply drained next;
+                // only a subscriber whose previous batch is still being sent is treated as too slow
+                if (pending.size() > maxPending && draining) {
+                    overflowed = true;
+                    pending.clear();
+                } else if (pending.size() >= maxBuffered) {
+                    pending.clear();
+                    pending.put(RESYNC_KEY, ChangeEventDTO.builder().entityType(RESYNC_KEY).action(RESYNC_KEY).build());
+                    resync = true;
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean hasPending() {
+            lock.lock();
+            try {
+                return !pending.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void drained() {
+            lock.lock();
+            try {
+                draining = false;
+            } finally {
+                lock.unlock();
+            }
+            sending.set(false);
+        }
+
+        private List<ChangeEventDTO> takePending() {
+            lock.lock();
+            try {
+                List<ChangeEventDTO> batch = new ArrayList<>(pending.values());
+                pending.clear();
+                resync = false;
+                draining = true;
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
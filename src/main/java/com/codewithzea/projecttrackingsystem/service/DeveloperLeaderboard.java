@@ -0,0 +1,185 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.DeveloperWorkloadDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.DeveloperChangedEvent;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Developers ranked by assigned task count, in Redis sorted sets: one over all tasks and
+ * one per task status. Assignment changes adjust scores with ZINCRBY after commit, so
+ * top-N and rank lookups are O(log N) instead of grouping the developers x tasks join.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeveloperLeaderboard {
+
+    static final String ALL_KEY = "developers:task-count";
+    static final String STATUS_KEY_PREFIX = "developers:task-count:status:";
+    // Outside STATUS_KEY_PREFIX so no node's stale-key scan picks up another's build in progress
+    static final String REBUILD_KEY_PREFIX = "developers:task-count-rebuild:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final DeveloperRepository developerRepository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (TaskChangedEvent.Change change : event.getChanges()) {
+                    apply(redis, change.getBefore(), -1);
+                    apply(redis, change.getAfter(), 1);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to update developer leaderboard; it will be corrected on the next rebuild", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        try {
+            if (event.getBefore() == null) {
+                // New developers appear on the overall board with zero tasks
+                redisTemplate.opsForZSet().addIfAbsent(ALL_KEY, event.getAfter().getId().toString(), 0);
+            } else if (event.getAfter() == null) {
+                removeDeveloper(event.getBefore().getId());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update developer leaderboard; it will be corrected on the next rebuild", e);
+        }
+    }
+
+    // Highest task count first; status narrows the count to tasks in that status.
+    // Names are filled in by the caller.
+    public List<DeveloperWorkloadDTO> top(int limit, String status) {
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(status), 0, limit - 1);
+        List<DeveloperWorkloadDTO> result = new ArrayList<>();
+        if (entries == null) {
+            return result;
+        }
+        long rank = 1;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            long count = entry.getScore() != null ? entry.getScore().longValue() : 0;
+            if (status != null && count <= 0) {
+                break;
+            }
+            result.add(DeveloperWorkloadDTO.builder()
+                    .developerId(Long.valueOf(entry.getValue()))
+                    .taskCount(count)
+                    .rank(rank++)
+                    .build());
+        }
+        return result;
+    }
+
+    public Optional<DeveloperWorkloadDTO> rankOf(Long developerId, String status) {
+        String member = developerId.toString();
+        Long rank = redisTemplate.opsForZSet().reverseRank(key(status), member);
+        Double score = redisTemplate.opsForZSet().score(key(status), member);
+        if (rank == null || score == null) {
+            return Optional.empty();
+        }
+        return Optional.of(DeveloperWorkloadDTO.builder()
+                .developerId(developerId)
+                .taskCount(score.longValue())
+                .rank(rank + 1)
+                .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${developer.leaderboard.rebuild-interval-ms:3600000}",
+            initialDelayString = "${developer.leaderboard.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        try {
+            Map<String, Map<String, Double>> boards = new HashMap<>();
+            for (Object[] row : developerRepository.countTasksGroupedByDeveloperAndStatus()) {
+                String developerId = row[0].toString();
+                String status = (String) row[1];
+                double count = ((Long) row[2]).doubleValue();
+                boards.computeIfAbsent(ALL_KEY, k -> new HashMap<>()).merge(developerId, count, Double::sum);
+                if (status != null) {
+                    boards.computeIfAbsent(STATUS_KEY_PREFIX + status, k -> new HashMap<>())
+                            .merge(developerId, count, Double::sum);
+                }
+            }
+            boards.forEach(this::replaceSortedSet);
+
+            List<String> stale = new ArrayList<>();
+            if (!boards.containsKey(ALL_KEY)) {
+                stale.add(ALL_KEY);
+            }
+            try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                    .match(STATUS_KEY_PREFIX + "*").count(1000).build())) {
+                keys.forEachRemaining(key -> {
+                    if (!boards.containsKey(key)) {
+                        stale.add(key);
+                    }
+                });
+            }
+            if (!stale.isEmpty()) {
+                redisTemplate.delete(stale);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to rebuild developer leaderboard", e);
+        }
+    }
+
+    private void apply(StringRedisConnection redis, TaskDTO task, int delta) {
+        if (task == null || task.getAssignedDeveloperIds() == null) {
+            return;
+        }
+        for (Long developerId : task.getAssignedDeveloperIds()) {
+            redis.zIncrBy(ALL_KEY, delta, developerId.toString());
+            if (task.getStatus() != null) {
+                redis.zIncrBy(STATUS_KEY_PREFIX + task.getStatus(), delta, developerId.toString());
+            }
+        }
+    }
+
+    private void removeDeveloper(Long developerId) {
+        String member = developerId.toString();
+        redisTemplate.opsForZSet().remove(ALL_KEY, member);
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(STATUS_KEY_PREFIX + "*").count(1000).build())) {
+            keys.forEachRemaining(key -> redisTemplate.opsForZSet().remove(key, member));
+        }
+    }
+
+    private void replaceSortedSet(String key, Map<String, Double> scores) {
+        String tempKey = REBUILD_KEY_PREFIX + UUID.randomUUID();
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        scores.forEach((member, score) -> tuples.add(ZSetOperations.TypedTuple.of(member, score)));
+        redisTemplate.opsForZSet().add(tempKey, tuples);
+        redisTemplate.rename(tempKey, key);
+    }
+
+    private static String key(String status) {
+        return status != null ? STATUS_KEY_PREFIX + status : ALL_KEY;
+    }
+}
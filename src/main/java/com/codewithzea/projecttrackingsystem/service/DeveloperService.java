@@ -2,75 +2,194 @@ package com.codewithzea.projecttrackingsystem.service;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperWorkloadDTO;
+import com.codewithzea.projecttrackingsystem.event.DeveloperChangedEvent;
 import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.exception.PreconditionFailedException;
 import com.codewithzea.projecttrackingsystem.exception.ResourceNotFoundException;
 import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.util.CursorUtil;
 import com.codewithzea.projecttrackingsystem.util.MapperUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class DeveloperService {
 
+    // Sort keys with a (key, id) index behind them
+    private static final Map<String, Function<String, Object>> KEYSET_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "name", name -> name);
+
     private final DeveloperRepository developerRepository;
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
+    private final AuditPayloadCodec auditPayloadCodec;
+    private final DeveloperLeaderboard developerLeaderboard;
+    private final SkillIndex skillIndex;
+    private final ETagService eTagService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
+    @Cacheable(value = "developers", key = "#id")
     public DeveloperDTO getDeveloperById(Long id) {
         Developer dev = developerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id));
         return MapperUtil.toDeveloperDTO(dev);
     }
 
+    @Transactional(readOnly = true)
     public Page<DeveloperDTO> getAllDevelopers(Pageable pageable) {
         return developerRepository.findAll(pageable).map(MapperUtil::toDeveloperDTO);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DeveloperDTO> getDevelopersAfter(String cursor, int size, String sortBy, String direction) {
+        Sort.Order order = CursorUtil.keysetOrder(sortBy, direction, KEYSET_SORT_KEYS.keySet());
+        KeysetScrollPosition position = CursorUtil.decodeKeyset(cursor, order, KEYSET_SORT_KEYS.get(sortBy));
+        Window<Developer> window = developerRepository.findBy(position, Sort.by(order), CursorUtil.limit(size));
+        List<DeveloperDTO> content = window.stream().map(MapperUtil::toDeveloperDTO).collect(Collectors.toList());
+        return CursorPageDTO.<DeveloperDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(window.hasNext())
+                .nextCursor(CursorUtil.encodeKeyset(window, order))
+                .build();
+    }
+
     @Transactional
+    @CachePut(value = "developers", key = "#result.id")
     public DeveloperDTO createDeveloper(DeveloperDTO dto) throws Exception {
         if (developerRepository.existsByEmail(dto.getEmail())) {
             throw new IllegalArgumentException("Email already in use.");
         }
         Developer dev = MapperUtil.toDeveloper(dto);
         Developer saved = developerRepository.save(dev);
-        String payload = objectMapper.writeValueAsString(saved);
-        auditLogService.log("CREATE", "Developer", saved.getId().toString(), payload);
-        return MapperUtil.toDeveloperDTO(saved);
+        DeveloperDTO created = MapperUtil.toDeveloperDTO(saved);
+        auditLogService.log("CREATE", "Developer", saved.getId().toString(), auditPayloadCodec.snapshot(created));
+        eventPublisher.publishEvent(new DeveloperChangedEvent(null, created));
+        return created;
+    }
+
+    // Bulk path used by imports; rejects the whole batch if any email is already taken
+    @Transactional
+    public List<DeveloperDTO> createDevelopers(List<DeveloperDTO> dtos) throws Exception {
+        Set<String> emails = new HashSet<>();
+        for (DeveloperDTO dto : dtos) {
+            if (!emails.add(dto.getEmail())) {
+                throw new IllegalArgumentException("Email appears more than once: " + dto.getEmail());
+            }
+        }
+        Set<String> taken = developerRepository.findExistingEmails(emails);
+        if (!taken.isEmpty()) {
+            throw new IllegalArgumentException("Email already in use: " + String.join(", ", taken));
+        }
+
+        List<Developer> saved = developerRepository.saveAll(dtos.stream().map(MapperUtil::toDeveloper).toList());
+        List<DeveloperDTO> created = new ArrayList<>(saved.size());
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (Developer dev : saved) {
+            DeveloperDTO dto = MapperUtil.toDeveloperDTO(dev);
+            created.add(dto);
+            payloads.put(dev.getId().toString(), auditPayloadCodec.snapshot(dto));
+            eventPublisher.publishEvent(new DeveloperChangedEvent(null, dto));
+        }
+        auditLogService.logAll("CREATE", "Developer", payloads);
+        return created;
     }
 
     @Transactional
-    public DeveloperDTO updateDeveloper(Long id, DeveloperDTO dto) throws Exception {
+    @CachePut(value = "developers", key = "#id")
+    public DeveloperDTO updateDeveloper(Long id, DeveloperDTO dto, Long expectedVersion) throws Exception {
         Developer dev = developerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(dev.getVersion())) {
+            throw new PreconditionFailedException("Developer " + id + " has been modified; current version is " + dev.getVersion());
+        }
+        DeveloperDTO before = MapperUtil.toDeveloperDTO(dev);
 
         dev.setName(dto.getName());
         dev.setEmail(dto.getEmail());
         dev.setSkills(dto.getSkills());
 
-        Developer updated = developerRepository.save(dev);
-        String payload = objectMapper.writeValueAsString(updated);
-        auditLogService.log("UPDATE", "Developer", updated.getId().toString(), payload);
-        return MapperUtil.toDeveloperDTO(updated);
+        // Flush so the returned (and cached) DTO carries the incremented version
+        Developer updated = developerRepository.saveAndFlush(dev);
+        DeveloperDTO after = MapperUtil.toDeveloperDTO(updated);
+        auditLogService.log("UPDATE", "Developer", updated.getId().toString(), auditPayloadCodec.diff(before, after));
+        eventPublisher.publishEvent(new DeveloperChangedEvent(before, after));
+        eTagService.putDeveloperETag(id, after.getVersion());
+        return after;
     }
 
     @Transactional
+    @CacheEvict(value = {"developers", ETagService.DEVELOPERS}, key = "#id")
     public void deleteDeveloper(Long id) {
         Developer dev = developerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id));
+        DeveloperDTO before = MapperUtil.toDeveloperDTO(dev);
         developerRepository.delete(dev);
         auditLogService.log("DELETE", "Developer", id.toString(), "");
+        eventPublisher.publishEvent(new DeveloperChangedEvent(before, null));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeveloperWorkloadDTO> getTopDevelopersByTaskCount(int limit, String status) {
+        List<DeveloperWorkloadDTO> top = developerLeaderboard.top(limit, status);
+        fillNames(top);
+        return top;
+    }
+
+    @Transactional(readOnly = true)
+    public DeveloperWorkloadDTO getDeveloperRank(Long id, String status) {
+        DeveloperWorkloadDTO rank = developerLeaderboard.rankOf(id, status)
+                .orElseThrow(() -> new ResourceNotFoundException("Developer not ranked with id " + id));
+        fillNames(List.of(rank));
+        return rank;
     }
 
-    public List<DeveloperDTO> getTop5DevelopersByTaskCount() {
-        List<Developer> topDevs = developerRepository.findTop5ByTaskCount(PageRequest.of(0,5));
-        return topDevs.stream().map(MapperUtil::toDeveloperDTO).collect(Collectors.toList());
+    // Developers having every skill, least open work first; rank is the position in that order
+    public List<DeveloperWorkloadDTO> matchDevelopers(Set<String> skills, int limit) {
+        List<DeveloperWorkloadDTO> result = skillIndex.match(skills).stream()
+                .sorted(Comparator.comparingLong(DeveloperWorkloadDTO::getTaskCount)
+                        .thenComparing(DeveloperWorkloadDTO::getDeveloperId))
+                .limit(limit)
+                .collect(Collectors.toList());
+        for (int i = 0; i < result.size(); i++) {
+            result.get(i).setRank(i + 1);
+        }
+        return result;
+    }
+
+    private void fillNames(List<DeveloperWorkloadDTO> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Long, String> names = new HashMap<>();
+        List<Long> ids = entries.stream().map(DeveloperWorkloadDTO::getDeveloperId).collect(Collectors.toList());
+        for (Object[] row : developerRepository.findNamesByIds(ids)) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        entries.forEach(entry -> entry.setName(names.get(entry.getDeveloperId())));
     }
 }
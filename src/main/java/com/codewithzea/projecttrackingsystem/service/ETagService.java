@@ -0,0 +1,69 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.exception.ResourceNotFoundException;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.codewithzea.projecttrackingsystem.util.ETagUtil;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Current ETag per entity, cached separately from the entities so a conditional GET that
+ * ends in 304 reads one short string instead of loading or deserializing the resource.
+ * Update methods write the new tag from the version they just flushed; delete methods evict it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ETagService {
+
+    public static final String PROJECTS = "projectETags";
+    public static final String TASKS = "taskETags";
+    public static final String DEVELOPERS = "developerETags";
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final DeveloperRepository developerRepository;
+
+    @Cacheable(value = PROJECTS, key = "#id")
+    @Transactional
+    public String projectETag(Long id) {
+        return ETagUtil.of(projectRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id)));
+    }
+
+    @Cacheable(value = TASKS, key = "#id")
+    @Transactional
+    public String taskETag(Long id) {
+        return ETagUtil.of(taskRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id)));
+    }
+
+    @Cacheable(value = DEVELOPERS, key = "#id")
+    @Transactional
+    public String developerETag(Long id) {
+        return ETagUtil.of(developerRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + id)));
+    }
+
+    // Overwriting rather than evicting leaves no empty slot for a concurrent fill to write an
+    // older tag into. The caches are transaction-aware, so the put lands after commit.
+    @CachePut(value = PROJECTS, key = "#id")
+    public String putProjectETag(Long id, Long version) {
+        return ETagUtil.of(version);
+    }
+
+    @CachePut(value = TASKS, key = "#id")
+    public String putTaskETag(Long id, Long version) {
+        return ETagUtil.of(version);
+    }
+
+    @CachePut(value = DEVELOPERS, key = "#id")
+    public String putDeveloperETag(Long id, Long version) {
+        return ETagUtil.of(version);
+    }
+}
@@ -0,0 +1,227 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Due-date index of open (not DONE) tasks, kept in a Redis sorted set scored by the due
+ * date's epoch day and shared by all nodes. A task becomes overdue simply by its score
+ * falling below today's, so polling the overdue list is a range read instead of a scan.
+ * Write paths update the set after commit; a daily reconciliation, run by one node at a
+ * time, corrects any drift.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueTaskIndex {
+
+    static final String KEY = "tasks:open-by-due";
+    static final String LOCK_KEY = "tasks:open-by-due-rebuild-lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+    private static final int REBUILD_PAGE_SIZE = 5000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final TaskRepository taskRepository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (TaskChangedEvent.Change change : event.getChanges()) {
+                    TaskDTO after = change.getAfter();
+                    if (after != null && isOpen(after)) {
+                        redis.zAdd(KEY, after.getDueDate().toEpochDay(), after.getId().toString());
+                    } else {
+                        TaskDTO task = after != null ? after : change.getBefore();
+                        redis.zRem(KEY, task.getId().toString());
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to update overdue index; it will be corrected on the next rebuild", e);
+        }
+    }
+
+    // Overdue ids ordered by due date, oldest first
+    public List<Long> findOverdueTaskIds(LocalDate today, long offset, int count) {
+        Set<String> ids = redisTemplate.opsForZSet()
+                .rangeByScore(KEY, Double.NEGATIVE_INFINITY, today.toEpochDay() - 1, offset, count);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    public long countOverdue(LocalDate today) {
+        Long count = redisTemplate.opsForZSet().count(KEY, Double.NEGATIVE_INFINITY, today.toEpochDay() - 1);
+        return count != null ? count : 0;
+    }
+
+    // Re-scores tasks the index wrongly lists as overdue (closed ones are removed) and drops deleted ids
+    public void correct(List<TaskDTO> stale, List<Long> deletedIds) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (TaskDTO task : stale) {
+                    if (isOpen(task)) {
+                        redis.zAdd(KEY, task.getDueDate().toEpochDay(), task.getId().toString());
+                    } else {
+                        redis.zRem(KEY, task.getId().toString());
+                    }
+                }
+                for (Long id : deletedIds) {
+                    redis.zRem(KEY, id.toString());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to correct overdue index; it will be corrected on the next rebuild", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Reconciles KEY in place, one node at a time. Write paths keep updating KEY meanwhile, so
+    // nothing is replaced wholesale: any entry that disagrees with the scan, or that the scan never
+    // saw, is re-read from the database by id and only then re-scored or removed.
+    @Scheduled(cron = "${task.overdue.rebuild-cron:0 5 0 * * *}")
+    public void rebuild() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+            return;
+        }
+        String seenKey = KEY + ":rebuild:" + token;
+        try {
+            long afterId = 0;
+            long total = 0;
+            int corrected = 0;
+            List<Object[]> page;
+            do {
+                page = taskRepository.findOpenTaskDueDates(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                List<Object[]> rows = page;
+                List<Object> scores = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (Object[] row : rows) {
+                        redis.zScore(KEY, row[0].toString());
+                    }
+                    return null;
+                });
+                List<Long> mismatched = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    Object[] row = rows.get(i);
+                    Double score = (Double) scores.get(i);
+                    if (score == null || score != ((LocalDate) row[1]).toEpochDay()) {
+                        mismatched.add((Long) row[0]);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    redisTemplate.opsForSet().add(seenKey, rows.stream().map(row -> row[0].toString()).toArray(String[]::new));
+                    redisTemplate.expire(seenKey, LOCK_TTL);
+                    afterId = (Long) rows.get(rows.size() - 1)[0];
+                }
+                corrected += verify(mismatched);
+                total += rows.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            // Entries the scan did not return: closed or deleted tasks the write path missed, but
+            // also tasks created or reopened after their id range was scanned
+            List<Long> unseen = new ArrayList<>();
+            try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet()
+                    .scan(KEY, ScanOptions.scanOptions().count(1000).build())) {
+                List<String> chunk = new ArrayList<>();
+                while (cursor.hasNext()) {
+                    chunk.add(cursor.next().getValue());
+                    if (chunk.size() == REBUILD_PAGE_SIZE || !cursor.hasNext()) {
+                        unseen.addAll(unseen(seenKey, chunk));
+                        chunk.clear();
+                    }
+                }
+            }
+            for (int i = 0; i < unseen.size(); i += REBUILD_PAGE_SIZE) {
+                corrected += verify(unseen.subList(i, Math.min(i + REBUILD_PAGE_SIZE, unseen.size())));
+            }
+            log.info("Reconciled overdue index with {} open tasks, {} entries corrected", total, corrected);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild overdue index", e);
+        } finally {
+            redisTemplate.delete(seenKey);
+            redisTemplate.execute(TaskStatusCounters.UNLOCK, List.of(LOCK_KEY), token);
+        }
+    }
+
+    private List<Long> unseen(String seenKey, List<String> members) {
+        List<Object> seen = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            members.forEach(member -> redis.sIsMember(seenKey, member));
+            return null;
+        });
+        List<Long> unseen = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (!Boolean.TRUE.equals(seen.get(i))) {
+                unseen.add(Long.valueOf(members.get(i)));
+            }
+        }
+        return unseen;
+    }
+
+    // Writes the current database state of the given ids: scored if still open, removed otherwise
+    private int verify(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Long, LocalDate> open = new HashMap<>();
+        for (Object[] row : taskRepository.findOpenTaskDueDatesByIds(ids)) {
+            if (row[1] != null) {
+                open.put((Long) row[0], (LocalDate) row[1]);
+            }
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                LocalDate due = open.get(id);
+                if (due != null) {
+                    redis.zAdd(KEY, due.toEpochDay(), id.toString());
+                } else {
+                    redis.zRem(KEY, id.toString());
+                }
+            }
+            return null;
+        });
+        return ids.size();
+    }
+
+    private static boolean isOpen(TaskDTO task) {
+        return !"DONE".equals(task.getStatus()) && task.getDueDate() != null;
+    }
+}
@@ -2,80 +2,162 @@ package com.codewithzea.projecttrackingsystem.service;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.ProjectChangedEvent;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
 import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.exception.PreconditionFailedException;
 import com.codewithzea.projecttrackingsystem.exception.ResourceNotFoundException;
 import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
+import com.codewithzea.projecttrackingsystem.util.CursorUtil;
 import com.codewithzea.projecttrackingsystem.util.MapperUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class ProjectService {
 
+    // Sort keys with a (key, id) index behind them
+    private static final Map<String, Function<String, Object>> KEYSET_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "deadline", LocalDate::parse,
+            "name", name -> name);
+
     private final ProjectRepository projectRepository;
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
-
-    @Cacheable(value = "projects", key = "#id")
+    private final AuditPayloadCodec auditPayloadCodec;
+    private final CacheManager cacheManager;
+    private final ETagService eTagService;
+    private final TaskService taskService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // sync routes misses through NearCache's single-flight loader, so a hot key expiring
+    // triggers one query per node
+    @Transactional
+    @Cacheable(value = "projects", key = "#id", sync = true)
     public ProjectDTO getProjectById(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
         return MapperUtil.toProjectDTO(project);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectDTO> getAllProjects(Pageable pageable) {
         return projectRepository.findAll(pageable).map(MapperUtil::toProjectDTO);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProjectDTO> getProjectsAfter(String cursor, int size, String sortBy, String direction) {
+        Sort.Order order = CursorUtil.keysetOrder(sortBy, direction, KEYSET_SORT_KEYS.keySet());
+        KeysetScrollPosition position = CursorUtil.decodeKeyset(cursor, order, KEYSET_SORT_KEYS.get(sortBy));
+        Window<Project> window = projectRepository.findBy(position, Sort.by(order), CursorUtil.limit(size));
+        List<ProjectDTO> content = window.stream().map(MapperUtil::toProjectDTO).collect(Collectors.toList());
+        return CursorPageDTO.<ProjectDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(window.hasNext())
+                .nextCursor(CursorUtil.encodeKeyset(window, order))
+                .build();
+    }
+
     @Transactional
-    @CacheEvict(value = "projects", allEntries = true)
+    @CachePut(value = "projects", key = "#result.id")
     public ProjectDTO createProject(ProjectDTO dto) throws Exception {
         Project project = MapperUtil.toProject(dto);
         Project saved = projectRepository.save(project);
-        String payload = objectMapper.writeValueAsString(saved);
-        auditLogService.log("CREATE", "Project", saved.getId().toString(), payload);
-        return MapperUtil.toProjectDTO(saved);
+        ProjectDTO created = MapperUtil.toProjectDTO(saved);
+        auditLogService.log("CREATE", "Project", saved.getId().toString(), auditPayloadCodec.snapshot(created));
+        eventPublisher.publishEvent(new ProjectChangedEvent(null, created));
+        return created;
+    }
+
+    // Bulk path used by imports: one transaction, one audit batch, nothing cached
+    @Transactional
+    public List<ProjectDTO> createProjects(List<ProjectDTO> dtos) throws Exception {
+        List<Project> saved = projectRepository.saveAll(dtos.stream().map(MapperUtil::toProject).toList());
+        List<ProjectDTO> created = new ArrayList<>(saved.size());
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (Project project : saved) {
+            ProjectDTO dto = MapperUtil.toProjectDTO(project);
+            created.add(dto);
+            payloads.put(project.getId().toString(), auditPayloadCodec.snapshot(dto));
+            eventPublisher.publishEvent(new ProjectChangedEvent(null, dto));
+        }
+        auditLogService.logAll("CREATE", "Project", payloads);
+        return created;
     }
 
     @Transactional
-    @CacheEvict(value = "projects", key = "#id")
-    public ProjectDTO updateProject(Long id, ProjectDTO dto) throws Exception {
+    @CachePut(value = "projects", key = "#id")
+    @CacheEvict(value = ProjectSummaryService.CACHE, key = "#id")
+    public ProjectDTO updateProject(Long id, ProjectDTO dto, Long expectedVersion) throws Exception {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project " + id + " has been modified; current version is " + project.getVersion());
+        }
+        ProjectDTO before = MapperUtil.toProjectDTO(project);
 
         project.setName(dto.getName());
         project.setDescription(dto.getDescription());
         project.setDeadline(dto.getDeadline());
         project.setStatus(dto.getStatus());
 
-        Project updated = projectRepository.save(project);
-        String payload = objectMapper.writeValueAsString(updated);
-        auditLogService.log("UPDATE", "Project", updated.getId().toString(), payload);
-        return MapperUtil.toProjectDTO(updated);
+        // Flush so the returned (and cached) DTO carries the incremented version
+        Project updated = projectRepository.saveAndFlush(project);
+        ProjectDTO after = MapperUtil.toProjectDTO(updated);
+        auditLogService.log("UPDATE", "Project", updated.getId().toString(), auditPayloadCodec.diff(before, after));
+        eventPublisher.publishEvent(new ProjectChangedEvent(before, after));
+        eTagService.putProjectETag(id, after.getVersion());
+        return after;
     }
 
     @Transactional
-    @CacheEvict(value = "projects", key = "#id")
+    @CacheEvict(value = {"projects", ProjectSummaryService.CACHE, ETagService.PROJECTS}, key = "#id")
     public void deleteProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + id));
+        // Tasks are removed by cascade, so drop their cache entries and notify task listeners too
+        List<TaskDTO> tasks = taskService.getTasksByProjectId(id);
+        for (String cacheName : List.of("tasks", ETagService.TASKS)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                tasks.forEach(task -> cache.evict(task.getId()));
+            }
+        }
         projectRepository.delete(project);
         auditLogService.log("DELETE", "Project", id.toString(), "");
+        eventPublisher.publishEvent(new ProjectChangedEvent(MapperUtil.toProjectDTO(project), null));
+        if (!tasks.isEmpty()) {
+            eventPublisher.publishEvent(TaskChangedEvent.deletedAll(tasks));
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> findProjectsWithoutTasks() {
         return projectRepository.findProjectsWithoutTasks().stream()
                 .map(MapperUtil::toProjectDTO)
@@ -0,0 +1,101 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.ProjectSummaryDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.exception.ResourceNotFoundException;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.codewithzea.projecttrackingsystem.util.MapperUtil;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Everything the project page needs in one response, built from four queries (project,
+ * per-status counts with overdue, developer ids, next due tasks) and cached as one entry.
+ * ProjectService evicts the entry on project writes; task writes evict it here after commit.
+ * The overdue count can lag a date change by at most the cache TTL.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+public class ProjectSummaryService {
+
+    public static final String CACHE = "projectSummaries";
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${project.summary.next-due-limit:5}")
+    private int nextDueLimit;
+
+    @Transactional
+    @Cacheable(value = CACHE, key = "#projectId")
+    public ProjectSummaryDTO getSummary(Long projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + projectId));
+
+        Map<String, Long> countsByStatus = new TreeMap<>();
+        long total = 0;
+        long overdue = 0;
+        for (Object[] row : taskRepository.summarizeByProjectId(projectId)) {
+            long count = ((Number) row[1]).longValue();
+            countsByStatus.put((String) row[0], count);
+            total += count;
+            overdue += row[2] != null ? ((Number) row[2]).longValue() : 0;
+        }
+
+        List<ProjectSummaryDTO.UpcomingTask> nextDue = new ArrayList<>();
+        for (Object[] row : taskRepository.findUpcomingByProjectId(projectId, Limit.of(nextDueLimit))) {
+            nextDue.add(new ProjectSummaryDTO.UpcomingTask((Long) row[0], (String) row[1], (LocalDate) row[2]));
+        }
+
+        return ProjectSummaryDTO.builder()
+                .project(MapperUtil.toProjectDTO(project))
+                .totalTasks(total)
+                .taskCountsByStatus(countsByStatus)
+                .overdueCount(overdue)
+                .assignedDeveloperIds(new TreeSet<>(taskRepository.findDeveloperIdsByProjectId(projectId)))
+                .nextDue(nextDue)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Long> projectIds = new HashSet<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            addProjectId(projectIds, change.getBefore());
+            addProjectId(projectIds, change.getAfter());
+        }
+        try {
+            Cache cache = cacheManager.getCache(CACHE);
+            if (cache != null) {
+                projectIds.forEach(cache::evict);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to evict project summaries {}; they expire with the cache TTL", projectIds, e);
+        }
+    }
+
+    private static void addProjectId(Set<Long> projectIds, TaskDTO task) {
+        if (task != null && task.getProjectId() != null) {
+            projectIds.add(task.getProjectId());
+        }
+    }
+}
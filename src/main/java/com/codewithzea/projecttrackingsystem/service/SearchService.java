@@ -0,0 +1,96 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
+import com.codewithzea.projecttrackingsystem.dto.SearchHitDTO;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.repository.SearchRepository;
+import com.codewithzea.projecttrackingsystem.repository.SearchRepository.Type;
+import com.codewithzea.projecttrackingsystem.util.CursorUtil;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Ranked results past this depth are not useful and make every page sort more matches
+    private static final int MAX_RESULTS = 1000;
+    private static final int MAX_TERMS = 8;
+    // A one-character prefix matches most of the index and makes every arm rank nearly all rows
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    private final SearchRepository searchRepository;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SearchHitDTO> search(String text, Collection<String> types, String cursor, int size) {
+        String tsQuery = toPrefixQuery(text);
+        Set<Type> selected = parseTypes(types);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                offset = Integer.parseInt(CursorUtil.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        if (offset < 0 || offset >= MAX_RESULTS) {
+            return CursorPageDTO.<SearchHitDTO>builder().content(List.of()).size(0).hasNext(false).build();
+        }
+
+        // One extra row tells whether there is another page
+        List<SearchHitDTO> hits = searchRepository.search(tsQuery, selected, offset, limit + 1);
+        boolean hasNext = hits.size() > limit && offset + limit < MAX_RESULTS;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+        }
+        return CursorPageDTO.<SearchHitDTO>builder()
+                .content(hits)
+                .size(hits.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorUtil.encode(String.valueOf(offset + limit)) : null)
+                .build();
+    }
+
+    // Every term must match, each as a prefix ("dep migr" finds "deploy migration"); terms
+    // shorter than MIN_PREFIX_LENGTH are ignored. Only letters and digits survive, so user input
+    // cannot inject tsquery operators.
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            throw new BadRequestException("Search text is required");
+        }
+        List<String> terms = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.codePointCount(0, term.length()) >= MIN_PREFIX_LENGTH)
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search text must contain a word of at least "
+                    + MIN_PREFIX_LENGTH + " letters or digits");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private static Set<Type> parseTypes(Collection<String> types) {
+        if (types == null || types.isEmpty()) {
+            return EnumSet.allOf(Type.class);
+        }
+        Set<Type> selected = EnumSet.noneOf(Type.class);
+        for (String type : types) {
+            try {
+                selected.add(Type.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown search type " + type);
+            }
+        }
+        return selected;
+    }
+}
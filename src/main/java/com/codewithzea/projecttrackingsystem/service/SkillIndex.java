@@ -0,0 +1,398 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.cache.CacheInvalidationPublisher;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperWorkloadDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.DeveloperChangedEvent;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory skill index for staffing queries. Skill names are interned to ints and each
+ * skill keeps a compressed (Roaring) bitmap of developer ids, so "has all of A, B and C"
+ * is a bitmap AND. Each developer's open (not DONE) task count is kept alongside, so matches
+ * are ranked without a round trip. Local writes apply after commit and are broadcast so other
+ * nodes apply them too; a periodic rebuild from the database corrects anything missed.
+ */
+@Slf4j
+@Component
+public class SkillIndex implements MessageListener {
+
+    // Open task changes travel as nodeId|load:[...]; developer changes as nodeId|developerId
+    private static final String LOAD_MESSAGE = "load:";
+    private static final TypeReference<List<LoadChange>> LOAD_CHANGES = new TypeReference<>() {};
+
+    private final DeveloperRepository developerRepository;
+    private final TaskRepository taskRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    // Read-mostly; a lock rather than synchronized so virtual threads never pin on it
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    private Replay replay;  // non-null while a rebuild runs; guarded by the lock
+
+    public SkillIndex(DeveloperRepository developerRepository,
+                      TaskRepository taskRepository,
+                      StringRedisTemplate redisTemplate,
+                      RedisMessageListenerContainer listenerContainer,
+                      CacheInvalidationPublisher publisher,
+                      ObjectMapper objectMapper,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${developer.skills.channel:developer-skills}") String channel) {
+        this.developerRepository = developerRepository;
+        this.taskRepository = taskRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.nodeId = publisher.getNodeId();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // One snapshot for the whole rebuild, so task versions read at the end match the counts read first
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    // Developers having every skill, with names and open task counts; empty if any skill is unknown
+    public List<DeveloperWorkloadDTO> match(Collection<String> skills) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap[] bitmaps = new RoaringBitmap[skills.size()];
+            int i = 0;
+            for (String skill : skills) {
+                Integer skillId = state.skillIds.get(normalize(skill));
+                if (skillId == null) {
+                    return List.of();
+                }
+                bitmaps[i++] = state.developersBySkill.get(skillId);
+            }
+            RoaringBitmap matched = FastAggregation.and(bitmaps);
+            List<DeveloperWorkloadDTO> result = new ArrayList<>(matched.getCardinality());
+            matched.forEach((int id) -> result.add(DeveloperWorkloadDTO.builder()
+                    .developerId((long) id)
+                    .name(state.names.get((long) id))
+                    .taskCount(state.openTasks.getOrDefault((long) id, 0))
+                    .build()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        DeveloperDTO after = event.getAfter();
+        Long developerId = after != null ? after.getId() : event.getBefore().getId();
+        if (after != null) {
+            applyDeveloper(s -> s.put(after.getId(), after.getName(), after.getSkills()));
+        } else {
+            applyDeveloper(s -> s.remove(developerId));
+        }
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + developerId);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast skill index change for developer {}; peers catch up on rebuild", developerId, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<LoadChange> changes = new ArrayList<>();
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            LoadChange load = loadChange(change.getBefore(), change.getAfter());
+            if (load != null) {
+                changes.add(load);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        applyLoads(changes);
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + LOAD_MESSAGE + objectMapper.writeValueAsString(changes));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast open task changes for {} tasks; peers catch up on rebuild", changes.size(), e);
+        }
+    }
+
+    // A peer changed open task counts, or a developer: reload the developer from the database
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length != 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            if (parts[1].startsWith(LOAD_MESSAGE)) {
+                applyLoads(objectMapper.readValue(parts[1].substring(LOAD_MESSAGE.length()), LOAD_CHANGES));
+                return;
+            }
+            Long developerId = Long.valueOf(parts[1]);
+            // Read-write transaction so the reload reads the primary, not a replica that may lag the change
+            List<Object[]> nameRows = new ArrayList<>();
+            Set<String> skills = new HashSet<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                nameRows.addAll(developerRepository.findNamesByIds(List.of(developerId)));
+                for (Object[] row : developerRepository.findSkillsByDeveloperIds(List.of(developerId))) {
+                    skills.add((String) row[1]);
+                }
+            });
+            if (nameRows.isEmpty()) {
+                applyDeveloper(s -> s.remove(developerId));
+            } else {
+                String name = (String) nameRows.get(0)[1];
+                applyDeveloper(s -> s.put(developerId, name, skills));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply skill index change {}; it will be corrected on the next rebuild", parts[1], e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Built off-lock and swapped in. Writes applied meanwhile are also recorded and replayed
+    // onto the rebuilt state before the swap, so none is lost.
+    @Scheduled(fixedDelayString = "${developer.skills.rebuild-interval-ms:600000}",
+            initialDelayString = "${developer.skills.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new Replay();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            State rebuilt = snapshotTemplate.execute(status -> {
+                State loaded = load();
+                swapIn(loaded);
+                return loaded;
+            });
+            log.info("Rebuilt skill index with {} developers and {} skills",
+                    rebuilt.names.size(), rebuilt.skillIds.size());
+        } catch (Exception e) {
+            log.warn("Failed to rebuild skill index", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private State load() {
+        Map<Long, Set<String>> skillsByDeveloper = new HashMap<>();
+        for (Object[] row : developerRepository.findAllSkills()) {
+            skillsByDeveloper.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        State loaded = new State();
+        for (Object[] row : developerRepository.findAllIdsAndNames()) {
+            Long id = (Long) row[0];
+            loaded.put(id, (String) row[1], skillsByDeveloper.getOrDefault(id, Set.of()));
+        }
+        for (RoaringBitmap bitmap : loaded.developersBySkill) {
+            bitmap.runOptimize();
+        }
+        for (Object[] row : developerRepository.countTasksGroupedByDeveloperAndStatus()) {
+            if (row[1] != null && !"DONE".equals(row[1])) {
+                loaded.openTasks.merge((Long) row[0], Math.toIntExact((Long) row[2]), Integer::sum);
+            }
+        }
+        return loaded;
+    }
+
+    // Developer changes are absolute and simply re-applied. A load change may already be in the
+    // snapshot, so it is re-applied only if the snapshot predates it, judged by the task's version
+    // read in the same transaction. Loops until no change arrives between the version read and the swap.
+    private void swapIn(State rebuilt) {
+        Map<Long, Long> versions = new HashMap<>();
+        Set<Long> checked = new HashSet<>();
+        while (true) {
+            List<Long> unchecked = new ArrayList<>();
+            lock.writeLock().lock();
+            try {
+                for (LoadChange change : replay.loads) {
+                    if (checked.add(change.taskId())) {
+                        unchecked.add(change.taskId());
+                    }
+                }
+                if (unchecked.isEmpty()) {
+                    replay.developers.forEach(change -> change.accept(rebuilt));
+                    Set<Long> deleted = new HashSet<>();
+                    replay.loads.stream().filter(LoadChange::deleted).forEach(change -> deleted.add(change.taskId()));
+                    for (LoadChange change : replay.loads) {
+                        if (!inSnapshot(change, versions.get(change.taskId()), deleted)) {
+                            rebuilt.applyLoad(change);
+                        }
+                    }
+                    state = rebuilt;
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            for (Object[] row : taskRepository.findVersionsByIds(unchecked)) {
+                versions.put((Long) row[0], (Long) row[1]);
+            }
+        }
+    }
+
+    private static boolean inSnapshot(LoadChange change, Long snapshotVersion, Set<Long> deletedTasks) {
+        if (snapshotVersion == null) {
+            // Not created yet at the snapshot, or already deleted; in the latter case all of its
+            // changes are in the snapshot, and in the former a later delete cancels them anyway
+            return deletedTasks.contains(change.taskId());
+        }
+        return !change.deleted() && change.version() <= snapshotVersion;
+    }
+
+    private void applyDeveloper(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (replay != null) {
+                replay.developers.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLoads(List<LoadChange> changes) {
+        lock.writeLock().lock();
+        try {
+            changes.forEach(state::applyLoad);
+            if (replay != null) {
+                replay.loads.addAll(changes);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Open task count changes per assigned developer; null if the write leaves them unchanged
+    private static LoadChange loadChange(TaskDTO before, TaskDTO after) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        addOpen(deltas, before, -1);
+        addOpen(deltas, after, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return null;
+        }
+        TaskDTO current = after != null ? after : before;
+        long version = current.getVersion() != null ? current.getVersion() : 0;
+        return new LoadChange(current.getId(), version, after == null, deltas);
+    }
+
+    private static void addOpen(Map<Long, Integer> deltas, TaskDTO task, int delta) {
+        if (task != null && !"DONE".equals(task.getStatus()) && task.getAssignedDeveloperIds() != null) {
+            task.getAssignedDeveloperIds().forEach(developerId -> deltas.merge(developerId, delta, Integer::sum));
+        }
+    }
+
+    private static String normalize(String skill) {
+        return skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // version is the task's version after the change (before it, for a delete)
+    record LoadChange(long taskId, long version, boolean deleted, Map<Long, Integer> deltas) {
+    }
+
+    // Changes applied while a rebuild reads the database
+    private static final class Replay {
+        private final List<Consumer<State>> developers = new ArrayList<>();
+        private final List<LoadChange> loads = new ArrayList<>();
+    }
+
+    // Guarded by the enclosing lock
+    private static final class State {
+        private final Map<String, Integer> skillIds = new HashMap<>();
+        private final List<RoaringBitmap> developersBySkill = new ArrayList<>();  // indexed by skill id
+        private final Map<Long, int[]> skillsByDeveloper = new HashMap<>();
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<Long, Integer> openTasks = new HashMap<>();
+
+        void put(Long developerId, String name, Collection<String> skills) {
+            unindex(developerId);
+            int bit = Math.toIntExact(developerId);
+            Set<Integer> ids = new TreeSet<>();
+            if (skills != null) {
+                for (String skill : skills) {
+                    ids.add(skillIds.computeIfAbsent(normalize(skill), s -> {
+                        developersBySkill.add(new RoaringBitmap());
+                        return developersBySkill.size() - 1;
+                    }));
+                }
+            }
+            for (int skillId : ids) {
+                developersBySkill.get(skillId).add(bit);
+            }
+            skillsByDeveloper.put(developerId, ids.stream().mapToInt(Integer::intValue).toArray());
+            names.put(developerId, name);
+        }
+
+        void remove(Long developerId) {
+            unindex(developerId);
+            names.remove(developerId);
+            openTasks.remove(developerId);
+        }
+
+        void applyLoad(LoadChange change) {
+            change.deltas().forEach((developerId, delta) ->
+                    openTasks.merge(developerId, delta, (a, b) -> a + b == 0 ? null : a + b));
+        }
+
+        private void unindex(Long developerId) {
+            int[] previous = skillsByDeveloper.remove(developerId);
+            if (previous != null) {
+                int bit = Math.toIntExact(developerId);
+                for (int skillId : previous) {
+                    developersBySkill.get(skillId).remove(bit);
+                }
+            }
+        }
+    }
+}
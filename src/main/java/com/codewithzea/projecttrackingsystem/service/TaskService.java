@@ -3,7 +3,10 @@ package com.codewithzea.projecttrackingsystem.service;
 
 
 
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
 import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDeveloperRow;
+import com.codewithzea.projecttrackingsystem.dto.TaskRow;
 import com.codewithzea.projecttrackingsystem.model.Developer;
 import com.codewithzea.projecttrackingsystem.model.Project;
 import com.codewithzea.projecttrackingsystem.model.Task;
@@ -11,57 +14,166 @@ import com.codewithzea.projecttrackingsystem.exception.ResourceNotFoundException
 import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
 import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
 import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.codewithzea.projecttrackingsystem.util.CursorUtil;
 import com.codewithzea.projecttrackingsystem.util.MapperUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.exception.PreconditionFailedException;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class TaskService {
 
+    // Keeps IN lists under driver/planner limits for very large result sets
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final DeveloperRepository developerRepository;
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
+    private final AuditPayloadCodec auditPayloadCodec;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OverdueTaskIndex overdueTaskIndex;
+    private final TaskStatusCounters taskStatusCounters;
+    private final ETagService eTagService;
+
+    // Sort keys with a (key, id) index behind them
+    private static final Map<String, Function<String, Object>> KEYSET_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "dueDate", LocalDate::parse);
 
+    @Value("${task.batch.max-size:5000}")
+    private int maxBatchSize;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getALlTasks(Pageable pageable){
-        return taskRepository.findAll(pageable).map(MapperUtil::toTaskDTO);
+        Page<TaskRow> rows = taskRepository.findAllRows(pageable);
+        Map<Long, Set<Long>> developerIds = loadDeveloperIds(rows.getContent().stream().map(TaskRow::getId).toList());
+        return rows.map(row -> MapperUtil.toTaskDTO(row, developerIds.get(row.getId())));
+    }
+
+    // Keyset mode: seeks past the cursor's (sort key, id) instead of counting and skipping rows
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> getTasksAfter(String cursor, int size, String sortBy, String direction) {
+        Sort.Order order = CursorUtil.keysetOrder(sortBy, direction, KEYSET_SORT_KEYS.keySet());
+        KeysetScrollPosition position = CursorUtil.decodeKeyset(cursor, order, KEYSET_SORT_KEYS.get(sortBy));
+        Window<Task> window = taskRepository.findBy(position, Sort.by(order), CursorUtil.limit(size));
+
+        Map<Long, Set<Long>> developerIds = loadDeveloperIds(window.stream().map(Task::getId).toList());
+        List<TaskDTO> content = window.stream()
+                .map(task -> MapperUtil.toTaskDTO(task, developerIds.get(task.getId())))
+                .collect(Collectors.toList());
+        return CursorPageDTO.<TaskDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(window.hasNext())
+                .nextCursor(CursorUtil.encodeKeyset(window, order))
+                .build();
     }
+
+    @Transactional
+    @Cacheable(value = "tasks", key = "#id")
     public TaskDTO getTaskById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
         return MapperUtil.toTaskDTO(task);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByProjectId(Long projectId) {
-        return taskRepository.findByProjectId(projectId).stream()
-                .map(MapperUtil::toTaskDTO)
-                .collect(Collectors.toList());
+        return toTaskDTOs(taskRepository.findRowsByProjectId(projectId));
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByDeveloperId(Long developerId) {
-        return taskRepository.findByDeveloperId(developerId).stream()
-                .map(MapperUtil::toTaskDTO)
-                .collect(Collectors.toList());
+        return toTaskDTOs(taskRepository.findRowsByDeveloperId(developerId));
     }
 
-    public List<TaskDTO> getOverdueTasks() {
-        return taskRepository.findOverdueTasks().stream()
-                .map(MapperUtil::toTaskDTO)
+    // Served from the due-date index: a range read plus a primary-key lookup of one page. The
+    // loaded rows are re-checked, since a lost index update or a rebuild race can leave closed or
+    // rescheduled tasks behind; those are dropped from the page and corrected in the index
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getOverdueTasks(Pageable pageable) {
+        LocalDate today = LocalDate.now();
+        List<Long> ids = overdueTaskIndex.findOverdueTaskIds(today, pageable.getOffset(), pageable.getPageSize());
+        long total = overdueTaskIndex.countOverdue(today);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        Map<Long, TaskDTO> byId = toTaskDTOs(taskRepository.findRowsByIds(ids)).stream()
+                .collect(Collectors.toMap(TaskDTO::getId, t -> t));
+        List<TaskDTO> content = new ArrayList<>(ids.size());
+        List<TaskDTO> stale = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            TaskDTO task = byId.get(id);
+            if (task == null) {
+                missing.add(id);
+            } else if (!"DONE".equals(task.getStatus()) && task.getDueDate().isBefore(today)) {
+                content.add(task);
+            } else {
+                stale.add(task);
+            }
+        }
+        if (!stale.isEmpty() || !missing.isEmpty()) {
+            overdueTaskIndex.correct(stale, missing);
+            total -= stale.size() + missing.size();
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Two queries regardless of result size: the task rows, then all their developer links
+    private List<TaskDTO> toTaskDTOs(List<TaskRow> rows) {
+        Map<Long, Set<Long>> developerIds = loadDeveloperIds(rows.stream().map(TaskRow::getId).toList());
+        return rows.stream()
+                .map(row -> MapperUtil.toTaskDTO(row, developerIds.get(row.getId())))
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, Set<Long>> loadDeveloperIds(List<Long> taskIds) {
+        Map<Long, Set<Long>> developerIds = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return developerIds;
+        }
+        for (int from = 0; from < taskIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, taskIds.size()));
+            for (TaskDeveloperRow link : taskRepository.findDeveloperIdsByTaskIds(chunk)) {
+                developerIds.computeIfAbsent(link.getTaskId(), k -> new HashSet<>()).add(link.getDeveloperId());
+            }
+        }
+        return developerIds;
+    }
+
     @Transactional
+    @CachePut(value = "tasks", key = "#result.id")
     public TaskDTO createTask(TaskDTO dto) throws Exception {
         Project project = projectRepository.findById(dto.getProjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id " + dto.getProjectId()));
@@ -75,25 +187,102 @@ public class TaskService {
                 .build();
 
         if (dto.getAssignedDeveloperIds() != null && !dto.getAssignedDeveloperIds().isEmpty()) {
-            Set<Developer> developers = new HashSet<>();
-            for (Long devId : dto.getAssignedDeveloperIds()) {
-                Developer dev = developerRepository.findById(devId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + devId));
-                developers.add(dev);
-            }
-            task.setAssignedDevelopers(developers);
+            task.setAssignedDevelopers(new HashSet<>(findDevelopers(dto.getAssignedDeveloperIds()).values()));
         }
 
         Task saved = taskRepository.save(task);
-        String payload = objectMapper.writeValueAsString(saved);
-        auditLogService.log("CREATE", "Task", saved.getId().toString(), payload);
-        return MapperUtil.toTaskDTO(saved);
+        TaskDTO created = MapperUtil.toTaskDTO(saved);
+        auditLogService.log("CREATE", "Task", saved.getId().toString(), auditPayloadCodec.snapshot(created));
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
+    }
+
+    @Transactional
+    public List<TaskDTO> createTasks(List<TaskDTO> dtos) throws Exception {
+        if (dtos.size() > maxBatchSize) {
+            throw new BadRequestException("Batch size exceeds limit of " + maxBatchSize);
+        }
+
+        // Resolve every referenced project and developer with one IN query each
+        Set<Long> projectIds = dtos.stream().map(TaskDTO::getProjectId).collect(Collectors.toSet());
+        Map<Long, Project> projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, p -> p));
+        for (Long projectId : projectIds) {
+            if (!projects.containsKey(projectId)) {
+                throw new ResourceNotFoundException("Project not found with id " + projectId);
+            }
+        }
+
+        Map<Long, Developer> developers = findDevelopers(dtos.stream()
+                .filter(dto -> dto.getAssignedDeveloperIds() != null)
+                .flatMap(dto -> dto.getAssignedDeveloperIds().stream())
+                .collect(Collectors.toSet()));
+
+        List<TaskDTO> result = new ArrayList<>(dtos.size());
+        Map<String, String> payloads = new LinkedHashMap<>();
+        List<Task> chunk = new ArrayList<>(jdbcBatchSize);
+        for (TaskDTO dto : dtos) {
+            Set<Developer> assigned = new HashSet<>();
+            if (dto.getAssignedDeveloperIds() != null) {
+                dto.getAssignedDeveloperIds().forEach(devId -> assigned.add(developers.get(devId)));
+            }
+            chunk.add(Task.builder()
+                    .title(dto.getTitle())
+                    .description(dto.getDescription())
+                    .status(dto.getStatus())
+                    .dueDate(dto.getDueDate())
+                    .project(projects.get(dto.getProjectId()))
+                    .assignedDevelopers(assigned)
+                    .build());
+            if (chunk.size() == jdbcBatchSize) {
+                flushChunk(chunk, result, payloads);
+            }
+        }
+        flushChunk(chunk, result, payloads);
+
+        auditLogService.logAll("CREATE", "Task", payloads);
+        eventPublisher.publishEvent(TaskChangedEvent.createdAll(result));
+        return result;
+    }
+
+    // One IN query for all ids; fails if any id does not exist
+    private Map<Long, Developer> findDevelopers(Set<Long> developerIds) {
+        Map<Long, Developer> developers = developerRepository.findAllById(developerIds).stream()
+                .collect(Collectors.toMap(Developer::getId, d -> d));
+        for (Long devId : developerIds) {
+            if (!developers.containsKey(devId)) {
+                throw new ResourceNotFoundException("Developer not found with id " + devId);
+            }
+        }
+        return developers;
+    }
+
+    // Inserts one JDBC batch of tasks and their task_developer rows, then detaches them
+    // so the persistence context (and dirty checking) stays bounded by the batch size
+    private void flushChunk(List<Task> chunk, List<TaskDTO> result, Map<String, String> payloads) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(chunk);
+        taskRepository.flush();
+        for (Task saved : chunk) {
+            TaskDTO dto = MapperUtil.toTaskDTO(saved);
+            result.add(dto);
+            payloads.put(saved.getId().toString(), auditPayloadCodec.snapshot(dto));
+            entityManager.detach(saved);
+        }
+        chunk.clear();
     }
 
     @Transactional
-    public TaskDTO updateTask(Long id, TaskDTO dto) throws Exception {
+    @CachePut(value = "tasks", key = "#id")
+    public TaskDTO updateTask(Long id, TaskDTO dto, Long expectedVersion) throws Exception {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + id + " has been modified; current version is " + task.getVersion());
+        }
+        TaskDTO before = MapperUtil.toTaskDTO(task);
 
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
@@ -107,38 +296,34 @@ public class TaskService {
         }
 
         if (dto.getAssignedDeveloperIds() != null) {
-            Set<Developer> developers = new HashSet<>();
-            for (Long devId : dto.getAssignedDeveloperIds()) {
-                Developer dev = developerRepository.findById(devId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Developer not found with id " + devId));
-                developers.add(dev);
-            }
-            task.setAssignedDevelopers(developers);
+            task.setAssignedDevelopers(new HashSet<>(findDevelopers(dto.getAssignedDeveloperIds()).values()));
         }
 
-        Task updated = taskRepository.save(task);
-        String payload = objectMapper.writeValueAsString(updated);
-        auditLogService.log("UPDATE", "Task", updated.getId().toString(), payload);
-        return MapperUtil.toTaskDTO(updated);
+        // Flush so the returned (and cached) DTO carries the incremented version
+        Task updated = taskRepository.saveAndFlush(task);
+        TaskDTO after = MapperUtil.toTaskDTO(updated);
+        auditLogService.log("UPDATE", "Task", updated.getId().toString(), auditPayloadCodec.diff(before, after));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, after));
+        eTagService.putTaskETag(id, after.getVersion());
+        return after;
     }
 
     @Transactional
+    @CacheEvict(value = {"tasks", ETagService.TASKS}, key = "#id")
     public void deleteTask(Long id, String actorName) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id " + id));
+        TaskDTO before = MapperUtil.toTaskDTO(task);
         taskRepository.delete(task);
         auditLogService.log("DELETE", "Task", id.toString(), actorName, "");
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(before));
     }
 
     public Map<String, Long> getTaskCountsByStatus() {
-        List<Object[]> counts = taskRepository.countTasksGroupedByStatus();
-        Map<String, Long> result = new HashMap<>();
-        for (Object[] obj : counts) {
-            String status = (String) obj[0];
-            Long count = (Long) obj[1];
-            result.put(status, count);
-        }
-        return result;
+        return taskStatusCounters.getCounts();
     }
-}
 
+    public Map<String, Long> getTaskCountsByStatus(Long projectId) {
+        return taskStatusCounters.getCounts(projectId);
+    }
+}
@@ -0,0 +1,269 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts per status, overall and per project, maintained from task write events.
+ * Deltas accumulate in striped local counters and are flushed to shared Redis hashes on
+ * a short interval; reads combine the cluster totals with this node's unflushed deltas.
+ * A periodic reconciliation, run by one node at a time, compares the hashes with a GROUP BY
+ * and applies the difference as increments, so flushes racing with it are never lost.
+ * It waits between its two samples, so it runs on its own thread rather than the scheduler's.
+ */
+@Slf4j
+@Component
+public class TaskStatusCounters {
+
+    static final String GLOBAL_KEY = "tasks:status-counts";
+    static final String PROJECT_KEY_PREFIX = "tasks:status-counts:project:";
+    static final String LOCK_KEY = "tasks:status-counts-reconcile-lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+    private static final int CLEANUP_BATCH = 500;
+
+    // Releases the lock only if this node still owns it
+    static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+    // Drops zero counts; a hash left without fields disappears with them
+    static final RedisScript<Long> DROP_ZEROS = new DefaultRedisScript<>(
+            "local n = 0 for _, key in ipairs(KEYS) do local h = redis.call('HGETALL', key) "
+                    + "for i = 1, #h, 2 do if h[i + 1] == '0' then n = n + redis.call('HDEL', key, h[i]) end end end "
+                    + "return n",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TaskRepository taskRepository;
+    private final long settleMs;
+    // One reconcile at a time; triggers arriving while one runs are dropped
+    private final ExecutorService reconciler = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> new Thread(runnable, "task-counters-reconcile"),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public TaskStatusCounters(StringRedisTemplate redisTemplate,
+                              TaskRepository taskRepository,
+                              @Value("${task.counters.reconcile-settle-ms:3000}") long settleMs) {
+        this.redisTemplate = redisTemplate;
+        this.taskRepository = taskRepository;
+        this.settleMs = settleMs;
+    }
+
+    // key -> status -> pending delta
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        for (TaskChangedEvent.Change change : event.getChanges()) {
+            TaskDTO before = change.getBefore();
+            TaskDTO after = change.getAfter();
+            if (before != null && after != null
+                    && Objects.equals(before.getStatus(), after.getStatus())
+                    && Objects.equals(before.getProjectId(), after.getProjectId())) {
+                continue;
+            }
+            if (before != null) {
+                add(before, -1);
+            }
+            if (after != null) {
+                add(after, 1);
+            }
+        }
+    }
+
+    public Map<String, Long> getCounts() {
+        return read(GLOBAL_KEY);
+    }
+
+    public Map<String, Long> getCounts(Long projectId) {
+        return read(PROJECT_KEY_PREFIX + projectId);
+    }
+
+    @Scheduled(fixedDelayString = "${task.counters.flush-interval-ms:1000}")
+    public void flush() {
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        pending.forEach((key, statuses) -> statuses.forEach((status, adder) -> {
+            // Subtract exactly what we read so increments racing with the flush are kept
+            long delta = adder.sum();
+            if (delta != 0) {
+                adder.add(-delta);
+                deltas.computeIfAbsent(key, k -> new HashMap<>()).put(status, delta);
+            }
+        }));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                deltas.forEach((key, statuses) ->
+                        statuses.forEach((status, delta) -> redis.hIncrBy(key, status, delta)));
+                return null;
+            });
+        } catch (Exception e) {
+            // Put the deltas back so they are retried on the next flush
+            deltas.forEach((key, statuses) -> statuses.forEach((status, delta) -> adder(key, status).add(delta)));
+            log.warn("Failed to flush task status counters", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconciler.execute(this::reconcile);
+    }
+
+    @Scheduled(fixedDelayString = "${task.counters.reconcile-interval-ms:600000}",
+            initialDelayString = "${task.counters.reconcile-interval-ms:600000}")
+    public void scheduleReconcile() {
+        reconciler.execute(this::reconcile);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    void reconcile() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+            return;
+        }
+        try {
+            // Deltas committed but not yet flushed by some node look like drift until that node's
+            // next flush, so only differences that persist across two samples are corrected
+            Map<String, Map<String, Long>> first = drift();
+            Thread.sleep(settleMs);
+            Set<String> keys = new HashSet<>();
+            Map<String, Map<String, Long>> second = drift(keys);
+
+            Map<String, Map<String, Long>> corrections = new HashMap<>();
+            second.forEach((key, statuses) -> statuses.forEach((status, delta) -> {
+                Long earlier = first.getOrDefault(key, Map.of()).get(status);
+                if (delta.equals(earlier)) {
+                    corrections.computeIfAbsent(key, k -> new HashMap<>()).put(status, delta);
+                }
+            }));
+            if (!corrections.isEmpty()) {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    corrections.forEach((key, statuses) ->
+                            statuses.forEach((status, delta) -> redis.hIncrBy(key, status, delta)));
+                    return null;
+                });
+                log.info("Corrected task status counter drift in {} hashes", corrections.size());
+            }
+
+            List<String> all = new ArrayList<>(keys);
+            for (int i = 0; i < all.size(); i += CLEANUP_BATCH) {
+                redisTemplate.execute(DROP_ZEROS, all.subList(i, Math.min(i + CLEANUP_BATCH, all.size())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to reconcile task status counters", e);
+        } finally {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_KEY), token);
+        }
+    }
+
+    private Map<String, Map<String, Long>> drift() {
+        return drift(new HashSet<>());
+    }
+
+    // Database count minus Redis count for every non-zero difference; collects the hashes it read
+    private Map<String, Map<String, Long>> drift(Set<String> keys) {
+        flush();
+        Map<String, Map<String, Long>> expected = new HashMap<>();
+        for (Object[] row : taskRepository.countTasksGroupedByProjectAndStatus()) {
+            String status = (String) row[1];
+            Long count = (Long) row[2];
+            expected.computeIfAbsent(GLOBAL_KEY, k -> new HashMap<>()).merge(status, count, Long::sum);
+            expected.computeIfAbsent(PROJECT_KEY_PREFIX + row[0], k -> new HashMap<>()).merge(status, count, Long::sum);
+        }
+
+        keys.add(GLOBAL_KEY);
+        keys.addAll(expected.keySet());
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(PROJECT_KEY_PREFIX + "*").count(1000).build())) {
+            cursor.forEachRemaining(key -> {
+                if (isProjectId(key.substring(PROJECT_KEY_PREFIX.length()))) {
+                    keys.add(key);
+                }
+            });
+        }
+
+        List<String> ordered = new ArrayList<>(keys);
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            ordered.forEach(redis::hGetAll);
+            return null;
+        });
+        Map<String, Map<String, Long>> drift = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            String key = ordered.get(i);
+            Map<String, Long> difference = new HashMap<>(expected.getOrDefault(key, Map.of()));
+            @SuppressWarnings("unchecked")
+            Map<String, String> actual = (Map<String, String>) hashes.get(i);
+            actual.forEach((status, count) -> difference.merge(status, -Long.parseLong(count), Long::sum));
+            difference.values().removeIf(delta -> delta == 0);
+            if (!difference.isEmpty()) {
+                drift.put(key, difference);
+            }
+        }
+        return drift;
+    }
+
+    private static boolean isProjectId(String suffix) {
+        return !suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit);
+    }
+
+    private void add(TaskDTO task, long delta) {
+        adder(GLOBAL_KEY, task.getStatus()).add(delta);
+        if (task.getProjectId() != null) {
+            adder(PROJECT_KEY_PREFIX + task.getProjectId(), task.getStatus()).add(delta);
+        }
+    }
+
+    private LongAdder adder(String key, String status) {
+        return pending.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder());
+    }
+
+    private Map<String, Long> read(String key) {
+        Map<String, Long> result = new HashMap<>();
+        redisTemplate.<String, String>opsForHash().entries(key)
+                .forEach((status, count) -> result.put(status, Long.valueOf(count)));
+        Map<String, LongAdder> local = pending.get(key);
+        if (local != null) {
+            local.forEach((status, adder) -> result.merge(status, adder.sum(), Long::sum));
+        }
+        result.values().removeIf(count -> count <= 0);
+        return result;
+    }
+}
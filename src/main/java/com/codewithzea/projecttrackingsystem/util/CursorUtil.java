@@ -0,0 +1,96 @@
+package com.codewithzea.projecttrackingsystem.util;
+
+
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset positions (last sort key + id) as opaque URL-safe tokens.
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "\u001F";
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Builds the keyset sort order, accepting only properties backed by a (key, id) index;
+     * seeking on anything else degrades into a full sort.
+     */
+    public static Sort.Order keysetOrder(String sortBy, String direction, Set<String> allowed) {
+        if (!allowed.contains(sortBy)) {
+            throw new BadRequestException("Cursor pagination supports sortBy " + allowed);
+        }
+        return direction.equalsIgnoreCase("desc") ? Sort.Order.desc(sortBy) : Sort.Order.asc(sortBy);
+    }
+
+    public static Limit limit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Turns a cursor issued by {@link #encodeKeyset} back into a scroll position. A blank cursor
+     * starts at the beginning; a cursor issued for a different sort is rejected.
+     */
+    public static KeysetScrollPosition decodeKeyset(String cursor, Sort.Order order,
+                                                    Function<String, Object> keyParser) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts = decode(cursor, 4);
+        if (!parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name())) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!"id".equals(order.getProperty())) {
+                keys.put(order.getProperty(), keyParser.apply(parts[2]));
+            }
+            keys.put("id", Long.valueOf(parts[3]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Null when the window is the last one
+    public static String encodeKeyset(Window<?> window, Sort.Order order) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        Map<String, ?> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+        return encode(order.getProperty(), order.getDirection().name(),
+                String.valueOf(keys.get(order.getProperty())), String.valueOf(keys.get("id")));
+    }
+}
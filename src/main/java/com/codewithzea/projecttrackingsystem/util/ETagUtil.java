@@ -0,0 +1,56 @@
+package com.codewithzea.projecttrackingsystem.util;
+
+
+import com.codewithzea.projecttrackingsystem.dto.Versioned;
+import com.codewithzea.projecttrackingsystem.exception.BadRequestException;
+import com.codewithzea.projecttrackingsystem.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Strong ETags derived from entity versions. A single resource's tag is its version; a
+ * list's tag hashes each element's id and version plus anything else the response carries
+ * (totals, next cursor), so it changes whenever any element is written.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    public static String of(Collection<? extends Versioned> items, Object... extra) {
+        StringBuilder key = new StringBuilder();
+        for (Versioned item : items) {
+            key.append(item.getId()).append(':').append(item.getVersion()).append(';');
+        }
+        for (Object value : extra) {
+            key.append('|').append(value);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Version expected by If-Match; null when absent or "*" (any current version)
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.contains(",")) {
+            throw new BadRequestException("If-Match accepts a single entity tag");
+        }
+        // Weak tags never match under If-Match's strong comparison, nor do tags we did not issue
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match " + tag + " does not match the current version");
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + tag + " does not match the current version");
+        }
+    }
+}
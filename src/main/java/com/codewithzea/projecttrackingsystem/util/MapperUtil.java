@@ -19,6 +19,7 @@ public class MapperUtil {
                 .description(project.getDescription())
                 .deadline(project.getDeadline())
                 .status(project.getStatus())
+                .version(project.getVersion())
                 .build();
     }
 
@@ -40,7 +41,9 @@ public class MapperUtil {
                 .id(dev.getId())
                 .name(dev.getName())
                 .email(dev.getEmail())
-                .skills(dev.getSkills())
+                // Detach from Hibernate's PersistentSet so the DTO can be cached and read back
+                .skills(dev.getSkills() != null ? new HashSet<>(dev.getSkills()) : new HashSet<>())
+                .version(dev.getVersion())
                 .build();
     }
 
@@ -72,9 +75,52 @@ public class MapperUtil {
                 .dueDate(task.getDueDate())
                 .projectId(task.getProject().getId())
                 .assignedDeveloperIds(developerIds)
+                .version(task.getVersion())
                 .build();
     }
 
-}
+    // Developer ids are passed in (loaded in bulk) so the lazy collection is never touched
+    public static TaskDTO toTaskDTO(Task task, Set<Long> developerIds) {
+        if (task == null) return null;
+        return TaskDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .dueDate(task.getDueDate())
+                .projectId(task.getProject() != null ? task.getProject().getId() : null)
+                .assignedDeveloperIds(developerIds != null ? developerIds : new HashSet<>())
+                .version(task.getVersion())
+                .build();
+    }
+
+    public static TaskDTO toTaskDTO(TaskRow row, Set<Long> developerIds) {
+        if (row == null) return null;
+        return TaskDTO.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .status(row.getStatus())
+                .dueDate(row.getDueDate())
+                .projectId(row.getProjectId())
+                .assignedDeveloperIds(developerIds != null ? developerIds : new HashSet<>())
+                .version(row.getVersion())
+                .build();
+    }
 
+    // Audit log; binary or compressed payloads are left to AuditPayloadCodec.decode
+    public static AuditLogDTO toAuditLogDTO(AuditLog log) {
+        if (log == null) return null;
+        return AuditLogDTO.builder()
+                .id(log.getId())
+                .actionType(log.getActionType())
+                .entityType(log.getEntityType())
+                .entityId(log.getEntityId())
+                .timestamp(log.getTimestamp())
+                .actorName(log.getActorName())
+                .payload(log.getPayload())
+                .build();
+    }
+
+}
 
@@ -0,0 +1,15 @@
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)));
+SELECT setval('projects_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM projects), (SELECT last_value FROM projects_seq)));
+SELECT setval('developers_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM developers), (SELECT last_value FROM developers_seq)));
+
+-- Full-text search. Generated columns are kept current by Postgres on every insert and update.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(title, '')), 'A') || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(name, '')), 'A') || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_developer_skills_search ON developer_skills USING GIN (to_tsvector('simple', skill));
+
+-- Optimistic-lock versions. Hibernate adds the columns as nullable; rows that predate them start at 0.
+UPDATE projects SET version = 0 WHERE version IS NULL;
+UPDATE tasks SET version = 0 WHERE version IS NULL;
+UPDATE developers SET version = 0 WHERE version IS NULL;
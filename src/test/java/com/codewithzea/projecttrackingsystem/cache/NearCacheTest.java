@@ -0,0 +1,132 @@
+package com.codewithzea.projecttrackingsystem.cache;
+
+import com.codewithzea.projecttrackingsystem.dto.ProjectDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Single-flight loading and refresh-ahead bookkeeping, with an in-memory map standing in for Redis.
+ */
+class NearCacheTest {
+
+    private static final int CALLERS = 8;
+
+    private final Cache remote = new ConcurrentMapCache("projects");
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NearCache(remote, Caffeine.newBuilder().build(), mock(CacheInvalidationPublisher.class),
+                RedisCacheWriter.TtlFunction.just(Duration.ofMinutes(10)), 1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesRunTheLoaderOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        List<Future<ProjectDTO>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> cache.get(1L, () -> {
+                calls.incrementAndGet();
+                release.await();
+                return project(1L, 0L);
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<ProjectDTO> result : results) {
+            assertEquals(0L, result.get(5, TimeUnit.SECONDS).getVersion());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void loaderFailureReachesEveryWaiterAndIsNotCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ProjectDTO>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> cache.get(1L, () -> {
+                release.await();
+                throw new IllegalStateException("database down");
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<ProjectDTO> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(Cache.ValueRetrievalException.class, e.getCause());
+        }
+        assertEquals(1L, cache.get(1L, () -> project(1L, 1L)).getVersion());
+    }
+
+    @Test
+    void loadStartedBeforeAnUpdateDoesNotOverwriteIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ProjectDTO> load = callers.submit(() -> cache.get(1L, () -> {
+            loading.countDown();
+            release.await();
+            return project(1L, 3L);   // read before the update committed
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.put(1L, project(1L, 4L));
+        release.countDown();
+
+        assertEquals(4L, load.get(5, TimeUnit.SECONDS).getVersion());
+        assertEquals(4L, cache.get(1L, ProjectDTO.class).getVersion());
+        assertEquals(4L, ((ProjectDTO) ((CacheEntry) remote.get(1L).get()).getValue()).getVersion());
+    }
+
+    @Test
+    void putKeepsThePreviousEntrysLoadTime() {
+        cache.get(1L, () -> {
+            Thread.sleep(30);
+            return project(1L, 0L);
+        });
+        long loadMillis = ((CacheEntry) remote.get(1L).get()).getLoadMillis();
+        assertTrue(loadMillis >= 30);
+
+        cache.put(1L, project(1L, 1L));
+        cache.put(2L, project(2L, 0L));
+
+        CacheEntry updated = (CacheEntry) remote.get(1L).get();
+        assertEquals(loadMillis, updated.getLoadMillis());
+        assertEquals(1L, ((ProjectDTO) updated.getValue()).getVersion());
+        assertEquals(0, ((CacheEntry) remote.get(2L).get()).getLoadMillis());
+        assertSame(ProjectDTO.class, cache.get(2L).get().getClass());
+    }
+
+    private static ProjectDTO project(Long id, Long version) {
+        return ProjectDTO.builder().id(id).name("Project " + id).version(version).build();
+    }
+}
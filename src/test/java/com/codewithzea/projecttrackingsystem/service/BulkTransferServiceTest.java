@@ -0,0 +1,114 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.ImportReportDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.repository.ProjectRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Imports with invalid rows mixed in: only valid records reach the bulk create paths.
+ */
+class BulkTransferServiceTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final DeveloperService developerService = mock(DeveloperService.class);
+    // Batches are cleared once written, so the names are copied as each batch arrives
+    private final List<String> developerNames = new ArrayList<>();
+    private final List<String> taskTitles = new ArrayList<>();
+    private ValidatorFactory validatorFactory;
+    private BulkTransferService bulkTransferService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(inv -> {
+            inv.<List<DeveloperDTO>>getArgument(0).forEach(d -> developerNames.add(d.getName()));
+            return List.of();
+        }).when(developerService).createDevelopers(anyList());
+        doAnswer(inv -> {
+            inv.<List<TaskDTO>>getArgument(0).forEach(t -> taskTitles.add(t.getTitle()));
+            return List.of();
+        }).when(taskService).createTasks(anyList());
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        bulkTransferService = new BulkTransferService(
+                mock(TaskRepository.class),
+                mock(ProjectRepository.class),
+                mock(DeveloperRepository.class),
+                taskService,
+                mock(ProjectService.class),
+                developerService,
+                mock(EntityManager.class),
+                validatorFactory.getValidator(),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void invalidDevelopersAreSkippedAndReported() throws Exception {
+        String ndjson = """
+                {"name":"Ada","email":"ada@example.com"}
+                {"name":"","email":"blank@example.com"}
+                {"name":"Bob","email":"not-an-email"}
+                {"name":"Cy","email":"cy@example.com","skills":["java"]}
+                """;
+
+        ImportReportDTO report = bulkTransferService.importData(
+                BulkTransferService.Dataset.DEVELOPERS, BulkTransferService.Format.NDJSON, input(ndjson));
+
+        assertEquals(List.of("Ada", "Cy"), developerNames);
+        assertEquals(4, report.getRead());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertTrue(report.isCompleted());
+        assertTrue(report.getErrors().get(0).startsWith("record 2: name"));
+        assertTrue(report.getErrors().get(1).startsWith("record 3: email"));
+    }
+
+    @Test
+    void invalidTaskRowsInCsvAreSkippedAndReported() throws Exception {
+        String csv = """
+                title,status,dueDate,projectId
+                Write spec,PENDING,2030-01-01,1
+                ,PENDING,2030-01-01,1
+                No project,PENDING,2030-01-01,
+                Ship it,DONE,2030-02-01,1
+                """;
+
+        ImportReportDTO report = bulkTransferService.importData(
+                BulkTransferService.Dataset.TASKS, BulkTransferService.Format.CSV, input(csv));
+
+        assertEquals(List.of("Write spec", "Ship it"), taskTitles);
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getErrors().size());
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+import com.codewithzea.projecttrackingsystem.cache.CacheInvalidationPublisher;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperDTO;
+import com.codewithzea.projecttrackingsystem.dto.DeveloperWorkloadDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.event.DeveloperChangedEvent;
+import com.codewithzea.projecttrackingsystem.event.TaskChangedEvent;
+import com.codewithzea.projecttrackingsystem.repository.DeveloperRepository;
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Open task counts kept in the skill index, including writes that land while a rebuild
+ * is reading the database.
+ */
+class SkillIndexTest {
+
+    private final DeveloperRepository developerRepository = mock(DeveloperRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SkillIndex skillIndex;
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        when(publisher.getNodeId()).thenReturn("node-a");
+        skillIndex = new SkillIndex(developerRepository, taskRepository, redisTemplate,
+                mock(RedisMessageListenerContainer.class), publisher, objectMapper,
+                mock(PlatformTransactionManager.class), "developer-skills");
+    }
+
+    @Test
+    void writesDuringRebuildAreReplayedUnlessTheSnapshotHasThem() {
+        // Snapshot: Ada has two open tasks; task 10 is already at version 3 (DONE)
+        when(developerRepository.findAllIdsAndNames()).thenReturn(List.<Object[]>of(new Object[]{1L, "Ada"}));
+        when(developerRepository.countTasksGroupedByDeveloperAndStatus()).thenReturn(List.of(
+                new Object[]{1L, "PENDING", 2L}, new Object[]{1L, "DONE", 1L}));
+        when(taskRepository.findVersionsByIds(anyCollection())).thenReturn(List.<Object[]>of(new Object[]{10L, 3L}));
+        when(developerRepository.findAllSkills()).thenAnswer(inv -> {
+            // Committed before the snapshot, delivered after the rebuild started
+            skillIndex.onTaskChanged(TaskChangedEvent.updated(task(10L, 2L, "PENDING", 1L), task(10L, 3L, "DONE", 1L)));
+            // Committed after the snapshot
+            skillIndex.onTaskChanged(TaskChangedEvent.created(task(11L, 0L, "PENDING", 1L)));
+            skillIndex.onDeveloperChanged(new DeveloperChangedEvent(null, developer(2L, "Bo")));
+            return List.<Object[]>of(new Object[]{1L, "java"});
+        });
+
+        skillIndex.rebuild();
+
+        assertEquals(Map.of(1L, 3L, 2L, 0L), openTasks(skillIndex.match(Set.of("java"))));
+    }
+
+    @Test
+    void openTaskChangesFromPeersAreApplied() throws Exception {
+        skillIndex.onDeveloperChanged(new DeveloperChangedEvent(null, developer(1L, "Ada")));
+        skillIndex.onTaskChanged(TaskChangedEvent.created(task(10L, 0L, "PENDING", 1L)));
+        verify(redisTemplate).convertAndSend(eq("developer-skills"), startsWith("node-a|load:"));
+
+        List<SkillIndex.LoadChange> changes = List.of(
+                new SkillIndex.LoadChange(11L, 0L, false, Map.of(1L, 1)),
+                new SkillIndex.LoadChange(10L, 1L, false, Map.of(1L, -1)));
+        String body = "node-b|load:" + objectMapper.writeValueAsString(changes);
+        skillIndex.onMessage(new DefaultMessage("developer-skills".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(Map.of(1L, 1L), openTasks(skillIndex.match(Set.of("java"))));
+    }
+
+    private static Map<Long, Long> openTasks(List<DeveloperWorkloadDTO> matches) {
+        return matches.stream().collect(Collectors.toMap(DeveloperWorkloadDTO::getDeveloperId, DeveloperWorkloadDTO::getTaskCount));
+    }
+
+    private static TaskDTO task(Long id, Long version, String status, Long developerId) {
+        return TaskDTO.builder().id(id).version(version).status(status).assignedDeveloperIds(Set.of(developerId)).build();
+    }
+
+    private static DeveloperDTO developer(Long id, String name) {
+        return DeveloperDTO.builder().id(id).name(name).skills(Set.of("java")).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+import com.codewithzea.projecttrackingsystem.dto.CursorPageDTO;
+import com.codewithzea.projecttrackingsystem.dto.TaskDTO;
+import com.codewithzea.projecttrackingsystem.model.Developer;
+import com.codewithzea.projecttrackingsystem.model.Project;
+import com.codewithzea.projecttrackingsystem.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fails if a task read path goes back to issuing queries per task (N+1).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import(TaskService.class)
+class TaskServiceQueryCountTest {
+
+    private static final int TASKS = 50;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AuditLogService auditLogService;
+
+    @MockitoBean
+    private AuditPayloadCodec auditPayloadCodec;
+
+    @MockitoBean
+    private OverdueTaskIndex overdueTaskIndex;
+
+    @MockitoBean
+    private TaskStatusCounters taskStatusCounters;
+
+    @MockitoBean
+    private ETagService eTagService;
+
+    private Project project;
+    private Developer alice;
+
+    @BeforeEach
+    void setUp() {
+        project = em.persist(Project.builder()
+                .name("Apollo").deadline(LocalDate.now().plusMonths(1)).status("ACTIVE").build());
+        alice = em.persist(Developer.builder().name("Alice").email("alice@example.com").skills(Set.of("java")).build());
+        Developer bob = em.persist(Developer.builder().name("Bob").email("bob@example.com").skills(Set.of("sql")).build());
+
+        for (int i = 0; i < TASKS; i++) {
+            em.persist(Task.builder()
+                    .title("Task " + i)
+                    .status(i % 2 == 0 ? "PENDING" : "DONE")
+                    .dueDate(LocalDate.now().minusDays(1))
+                    .project(project)
+                    .assignedDevelopers(Set.of(alice, bob))
+                    .build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getTasksByProjectIdUsesConstantQueries() {
+        List<TaskDTO> tasks = countQueries(() -> taskService.getTasksByProjectId(project.getId()), 2);
+        assertEquals(TASKS, tasks.size());
+        assertEquals(2, tasks.get(0).getAssignedDeveloperIds().size());
+    }
+
+    @Test
+    void getTasksByDeveloperIdUsesConstantQueries() {
+        List<TaskDTO> tasks = countQueries(() -> taskService.getTasksByDeveloperId(alice.getId()), 2);
+        assertEquals(TASKS, tasks.size());
+    }
+
+    @Test
+    void getOverdueTasksDropsAndCorrectsStaleIndexEntries() {
+        // The index lists every task plus a deleted id; only the open ones are really overdue
+        List<Long> ids = new ArrayList<>(em.getEntityManager()
+                .createQuery("SELECT t.id FROM Task t ORDER BY t.id", Long.class).getResultList());
+        ids.add(-1L);
+        when(overdueTaskIndex.findOverdueTaskIds(any(), eq(0L), eq(100))).thenReturn(ids);
+        when(overdueTaskIndex.countOverdue(any())).thenReturn((long) ids.size());
+
+        Page<TaskDTO> page = countQueries(() -> taskService.getOverdueTasks(PageRequest.of(0, 100)), 2);
+
+        assertEquals(TASKS / 2, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(task -> "PENDING".equals(task.getStatus())));
+        assertEquals(TASKS / 2, page.getTotalElements());
+        verify(overdueTaskIndex).correct(
+                argThat(stale -> stale.size() == TASKS / 2 && stale.stream().allMatch(t -> "DONE".equals(t.getStatus()))),
+                eq(List.of(-1L)));
+    }
+
+    @Test
+    void getAllTasksUsesConstantQueries() {
+        // Rows, count and developer links
+        var page = countQueries(() -> taskService.getALlTasks(PageRequest.of(0, 20, Sort.by("dueDate"))), 3);
+        assertEquals(20, page.getContent().size());
+    }
+
+    @Test
+    void cursorWalkVisitsEveryTaskOnceWithoutCountQuery() {
+        // All tasks share a due date, so paging relies on the id tie-breaker
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        do {
+            String current = cursor;
+            // Rows and developer links only
+            CursorPageDTO<TaskDTO> page = countQueries(() -> taskService.getTasksAfter(current, 20, "dueDate", "asc"), 2);
+            page.getContent().forEach(task -> assertTrue(seen.add(task.getId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(TASKS, seen.size());
+    }
+
+    private <T> T countQueries(Supplier<T> call, long maxStatements) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " statements but " + statements + " were issued");
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package com.codewithzea.projecttrackingsystem.service;
+
+import com.codewithzea.projecttrackingsystem.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reconciliation against an in-memory stand-in for the Redis hashes, with flushes from
+ * another node interleaved between the database and Redis reads.
+ */
+class TaskStatusCountersTest {
+
+    private final Map<String, Map<String, String>> hashes = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        List<Object> results = new ArrayList<>();
+        when(connection.hIncrBy(anyString(), anyString(), anyLong())).thenAnswer(inv -> {
+            hIncrBy(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            return null;
+        });
+        when(connection.hGetAll(anyString())).thenAnswer(inv -> {
+            results.add(new HashMap<>(hashes.getOrDefault(inv.<String>getArgument(0), Map.of())));
+            return null;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            results.clear();
+            inv.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return new ArrayList<>(results);
+        });
+
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(inv -> {
+            Iterator<String> keys = new ArrayList<>(hashes.keySet()).stream()
+                    .filter(key -> key.startsWith(TaskStatusCounters.PROJECT_KEY_PREFIX)).iterator();
+            Cursor<String> cursor = mock(Cursor.class);
+            doAnswer(each -> {
+                keys.forEachRemaining(each.getArgument(0));
+                return null;
+            }).when(cursor).forEachRemaining(any());
+            return cursor;
+        });
+
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(values.setIfAbsent(eq(TaskStatusCounters.LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        when(hashOps.entries(anyString())).thenAnswer(inv -> new HashMap<>(hashes.getOrDefault(inv.<String>getArgument(0), Map.of())));
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        when(redisTemplate.execute(eq(TaskStatusCounters.DROP_ZEROS), anyList())).thenAnswer(inv -> {
+            for (String key : inv.<List<String>>getArgument(1)) {
+                Map<String, String> hash = hashes.get(key);
+                if (hash != null) {
+                    hash.values().removeIf("0"::equals);
+                    if (hash.isEmpty()) {
+                        hashes.remove(key);
+                    }
+                }
+            }
+            return 0L;
+        });
+
+        counters = new TaskStatusCounters(redisTemplate, taskRepository, 0);
+    }
+
+    @Test
+    void persistentDriftIsCorrectedAndEmptyHashesRemoved() {
+        hIncrBy(TaskStatusCounters.GLOBAL_KEY, "PENDING", 4);
+        hIncrBy(TaskStatusCounters.PROJECT_KEY_PREFIX + 1, "PENDING", 4);
+        hIncrBy(TaskStatusCounters.PROJECT_KEY_PREFIX + 2, "DONE", 3);   // project has no tasks left
+        hIncrBy(TaskStatusCounters.GLOBAL_KEY, "DONE", 3);
+        when(taskRepository.countTasksGroupedByProjectAndStatus())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "PENDING", 5L}));
+
+        counters.reconcile();
+
+        assertEquals(Map.of("PENDING", 5L), counters.getCounts());
+        assertEquals(Map.of("PENDING", 5L), counters.getCounts(1L));
+        assertFalse(hashes.containsKey(TaskStatusCounters.PROJECT_KEY_PREFIX + 2));
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+        verify(redisTemplate).execute(eq(TaskStatusCounters.UNLOCK), eq(List.of(TaskStatusCounters.LOCK_KEY)), any());
+    }
+
+    @Test
+    void deltaFlushedByAnotherNodeDuringReconcileIsCountedOnce() {
+        // Six tasks are committed, but another node has not flushed the sixth yet
+        hIncrBy(TaskStatusCounters.GLOBAL_KEY, "PENDING", 5);
+        hIncrBy(TaskStatusCounters.PROJECT_KEY_PREFIX + 1, "PENDING", 5);
+        List<Object[]> rows = List.<Object[]>of(new Object[]{1L, "PENDING", 6L});
+        when(taskRepository.countTasksGroupedByProjectAndStatus())
+                .thenReturn(rows)
+                .thenAnswer(inv -> {
+                    // ...and does so between the two samples
+                    hIncrBy(TaskStatusCounters.GLOBAL_KEY, "PENDING", 1);
+                    hIncrBy(TaskStatusCounters.PROJECT_KEY_PREFIX + 1, "PENDING", 1);
+                    return rows;
+                });
+
+        counters.reconcile();
+
+        assertEquals(Map.of("PENDING", 6L), counters.getCounts());
+        assertEquals(Map.of("PENDING", 6L), counters.getCounts(1L));
+    }
+
+    @Test
+    void skippedWhenAnotherNodeHoldsTheLock() {
+        when(redisTemplate.opsForValue().setIfAbsent(eq(TaskStatusCounters.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        counters.reconcile();
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    private void hIncrBy(String key, String field, long delta) {
+        hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .merge(field, String.valueOf(delta), (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b)));
+    }
+}